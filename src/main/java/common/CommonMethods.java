@@ -2,6 +2,7 @@ package common;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -12,12 +13,14 @@ import org.openqa.selenium.Alert;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.StaleElementReferenceException;
-import org.openqa.selenium.ElementClickInterceptedException;
 import drivers.DriverFactory;
+import drivers.RequestBlocker;
 import config.ConfigReader;
 import utils.LogUtil;
+import utils.Waiter;
 
 import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -35,23 +38,20 @@ public class CommonMethods {
      */
     public static <T> T retryOnStaleElement(Function<WebDriver, T> action) {
         WebDriver driver = getDriver();
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRY_ATTEMPTS; attempt++) {
-            try {
-                return action.apply(driver);
-            } catch (StaleElementReferenceException e) {
-                lastException = e;
-                LogUtil.warn("Stale element reference on attempt " + attempt + ", retrying...");
-                try {
-                    Thread.sleep(RETRY_DELAY_MS);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted during retry", ie);
-                }
-            }
+        try {
+            // The action resolves the element again, so the first retry is immediate and later ones back off
+            return Waiter.of("stale.retry")
+                    .attempts(MAX_RETRY_ATTEMPTS)
+                    .backoff(Duration.ofMillis(50), Duration.ofMillis(RETRY_DELAY_MS))
+                    .ignoring(StaleElementReferenceException.class)
+                    .onRetry(e -> {
+                        ElementCache.invalidate(driver);
+                        LogUtil.warn("Stale element reference, retrying...");
+                    })
+                    .retry(() -> action.apply(driver));
+        } catch (StaleElementReferenceException e) {
+            throw new RuntimeException("Failed after " + MAX_RETRY_ATTEMPTS + " attempts", e);
         }
-        throw new RuntimeException("Failed after " + MAX_RETRY_ATTEMPTS + " attempts", lastException);
     }
 
     // Dynamic locator builder
@@ -59,20 +59,11 @@ public class CommonMethods {
 
         /**
          * Author: shashi
-         * Description: Builds a dynamic Selenium By locator from a pattern and values.
+         * Description: Builds a dynamic Selenium By locator from a pattern and values. The pattern is compiled once and
+         * each distinct set of values returns the same interned By, see LocatorRegistry.
          */
         public static By buildDynamicLocator(String locatorPattern, Object... values) {
-            String finalLocator = String.format(locatorPattern, values);
-
-            if (locatorPattern.startsWith("//") || locatorPattern.startsWith("(")) {
-                return By.xpath(finalLocator);
-            } else if (locatorPattern.startsWith("#")) {
-                return By.cssSelector(finalLocator);
-            } else if (locatorPattern.contains("[") && locatorPattern.contains("]")) {
-                return By.cssSelector(finalLocator);
-            } else {
-                return By.xpath(finalLocator);
-            }
+            return LocatorRegistry.locator(locatorPattern, values);
         }
 
         /**
@@ -80,7 +71,7 @@ public class CommonMethods {
          * Description: Returns a Selenium By.id locator for the given id.
          */
         public static By id(String id) {
-            return By.id(id);
+            return LocatorRegistry.id(id);
         }
 
         /**
@@ -88,7 +79,7 @@ public class CommonMethods {
          * Description: Returns a Selenium By.xpath locator for the given xpath.
          */
         public static By xpath(String xpath) {
-            return By.xpath(xpath);
+            return LocatorRegistry.xpath(xpath);
         }
 
         /**
@@ -96,7 +87,7 @@ public class CommonMethods {
          * Description: Returns a Selenium By.cssSelector locator for the given CSS selector.
          */
         public static By css(String css) {
-            return By.cssSelector(css);
+            return LocatorRegistry.css(css);
         }
 
         /**
@@ -104,7 +95,7 @@ public class CommonMethods {
          * Description: Returns a Selenium By.name locator for the given name.
          */
         public static By name(String name) {
-            return By.name(name);
+            return LocatorRegistry.name(name);
         }
 
         /**
@@ -112,7 +103,7 @@ public class CommonMethods {
          * Description: Returns a Selenium By.className locator for the given class name.
          */
         public static By className(String className) {
-            return By.className(className);
+            return LocatorRegistry.className(className);
         }
 
         /**
@@ -153,25 +144,39 @@ public class CommonMethods {
      * Description: Returns a WebDriverWait instance with the default explicit wait time from ConfigReader.
      */
     private static WebDriverWait getWait() {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        return new WebDriverWait(getDriver(), ConfigReader.snapshot().getExplicitWaitDuration());
+    }
+
+    /**
+     * Author: shashi
+     * Description: Returns a WebDriverWait instance with a custom timeout.
+     */
+    private static WebDriverWait getWait(Duration timeout) {
+        return new WebDriverWait(getDriver(), timeout);
     }
 
     /**
      * Author: shashi
-     * Description: Returns a WebDriverWait instance with a custom timeout in seconds.
+     * Description: Runs an action on the element for the locator, resolving it again once if the cached handle went stale.
      */
-    private static WebDriverWait getWait(int timeoutSeconds) {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+    private static <T> T withElement(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(findElement(locator));
+        } catch (StaleElementReferenceException e) {
+            ElementCache.evict(getDriver(), locator);
+            return action.apply(findElement(locator));
+        }
     }
 
     // Dynamic Element Finding Methods
     /**
      * Author: shashi
-     * Description: Finds a single WebElement using the provided By locator. Logs error if not found.
+     * Description: Finds a single WebElement using the provided By locator, reusing the cached handle while the page's
+     * DOM is unchanged. Logs error if not found.
      */
     public static WebElement findElement(By locator) {
         try {
-            return getDriver().findElement(locator);
+            return ElementCache.find(getDriver(), locator);
         } catch (NoSuchElementException e) {
             LogUtil.error("Element not found with locator: " + locator);
             throw e;
@@ -193,7 +198,10 @@ public class CommonMethods {
      */
     public static List<WebElement> findElements(By locator) {
         try {
-            return getDriver().findElements(locator);
+            long start = System.nanoTime();
+            List<WebElement> elements = getDriver().findElements(locator);
+            LocatorProfiler.record(getDriver(), locator, System.nanoTime() - start, elements.size(), false);
+            return elements;
         } catch (Exception e) {
             LogUtil.error("Elements not found with locator: " + locator);
             throw e;
@@ -212,30 +220,29 @@ public class CommonMethods {
     // Smart Element Interaction Methods
     /**
      * Author: shashi
-     * Description: Clicks on a WebElement using the provided By locator, with retry logic for stale elements and JS fallback.
+     * Description: Clicks on a WebElement using the provided By locator, with retry logic for stale elements.
+     * Scrolling, the clickability check and the covered-element check run in one script (see ElementAction), which
+     * clicks with JavaScript straight away when another element covers the target. Elements that stay absent, hidden
+     * or disabled fail the click instead of being clicked with JavaScript.
      */
     public static void smartClick(By locator) {
         retryOnStaleElement(driver -> {
             try {
-                WebElement element = waitForElementToBeClickable(locator);
-                element.click();
-                LogUtil.info("Clicked on element: " + locator);
-                return null;
-            } catch (ElementClickInterceptedException e) {
-                LogUtil.warn("Element click intercepted, trying JavaScript click: " + locator);
-                jsClick(locator);
-                return null;
-            } catch (Exception e) {
-                LogUtil.warn("Standard click failed, trying JavaScript click: " + locator);
-                jsClick(locator);
+                ElementAction.Result result = ElementAction.click(driver, locator);
+                LogUtil.info((result.isNativeClick() ? "Clicked" : "JavaScript clicked") + " on element: " + locator);
                 return null;
+            } catch (StaleElementReferenceException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                LogUtil.error("Failed to click element: " + locator + " - " + e.getMessage());
+                throw e;
             }
         });
     }
 
     /**
      * Author: shashi
-     * Description: Clicks on a WebElement using a dynamic locator pattern and values, with retry logic and JS fallback.
+     * Description: Clicks on a WebElement using a dynamic locator pattern and values, with retry logic for stale elements.
      */
     public static void smartClick(String locatorPattern, Object... values) {
         By locator = LocatorBuilder.buildDynamicLocator(locatorPattern, values);
@@ -323,20 +330,29 @@ public class CommonMethods {
      * Description: Waits for a WebElement to be visible using the provided By locator and custom timeout.
      */
     public static WebElement waitForElementToBeVisible(By locator, int timeoutSeconds) {
+        return waitForElementToBeVisible(locator, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits for a WebElement to be visible using the provided By locator and custom timeout.
+     */
+    public static WebElement waitForElementToBeVisible(By locator, Duration timeout) {
         try {
-            return getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.VISIBILITY,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.visible(), timeout));
         } catch (TimeoutException e) {
-            LogUtil.error("Element not visible within " + timeoutSeconds + " seconds: " + locator);
+            LogUtil.error("Element not visible within " + timeout.getSeconds() + " seconds: " + locator);
             throw e;
         }
     }
 
     /**
      * Author: shashi
-     * Description: Waits for a WebElement to be visible using the provided By locator and default timeout.
+     * Description: Waits for a WebElement to be visible using the provided By locator and the policy's visibility budget.
      */
     public static WebElement waitForElementToBeVisible(By locator) {
-        return waitForElementToBeVisible(locator, ConfigReader.getExplicitWait());
+        return waitForElementToBeVisible(locator, TimeoutPolicy.budget(TimeoutPolicy.Operation.VISIBILITY));
     }
 
     /**
@@ -353,20 +369,29 @@ public class CommonMethods {
      * Description: Waits for a WebElement to be clickable using the provided By locator and custom timeout.
      */
     public static WebElement waitForElementToBeClickable(By locator, int timeoutSeconds) {
+        return waitForElementToBeClickable(locator, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits for a WebElement to be clickable using the provided By locator and custom timeout.
+     */
+    public static WebElement waitForElementToBeClickable(By locator, Duration timeout) {
         try {
-            return getWait(timeoutSeconds).until(ExpectedConditions.elementToBeClickable(locator));
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.CLICKABILITY,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.clickable(), timeout));
         } catch (TimeoutException e) {
-            LogUtil.error("Element not clickable within " + timeoutSeconds + " seconds: " + locator);
+            LogUtil.error("Element not clickable within " + timeout.getSeconds() + " seconds: " + locator);
             throw e;
         }
     }
 
     /**
      * Author: shashi
-     * Description: Waits for a WebElement to be clickable using the provided By locator and default timeout.
+     * Description: Waits for a WebElement to be clickable using the provided By locator and the policy's clickability budget.
      */
     public static WebElement waitForElementToBeClickable(By locator) {
-        return waitForElementToBeClickable(locator, ConfigReader.getExplicitWait());
+        return waitForElementToBeClickable(locator, TimeoutPolicy.budget(TimeoutPolicy.Operation.CLICKABILITY));
     }
 
     /**
@@ -384,7 +409,11 @@ public class CommonMethods {
      */
     public static boolean waitForElementToBeInvisible(By locator, int timeoutSeconds) {
         try {
-            return getWait(timeoutSeconds).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.INVISIBILITY,
+                    () -> {
+                        MutationWait.until(getDriver(), locator, MutationWait.Condition.invisible(), Duration.ofSeconds(timeoutSeconds));
+                        return true;
+                    });
         } catch (TimeoutException e) {
             LogUtil.warn("Element still visible after " + timeoutSeconds + " seconds: " + locator);
             return false;
@@ -397,21 +426,127 @@ public class CommonMethods {
      */
     public static boolean waitForElementToBeInvisible(String locatorPattern, Object... values) {
         By locator = LocatorBuilder.buildDynamicLocator(locatorPattern, values);
-        return waitForElementToBeInvisible(locator, ConfigReader.getExplicitWait());
+        return waitForElementToBeInvisible(locator, (int) TimeoutPolicy.budget(TimeoutPolicy.Operation.INVISIBILITY).getSeconds());
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until the first WebElement found using the provided By locator contains the given text.
+     */
+    public static WebElement waitForTextToBePresent(By locator, String text) {
+        Duration timeout = TimeoutPolicy.budget(TimeoutPolicy.Operation.DOM_CONDITION);
+        try {
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.DOM_CONDITION,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.textContains(text), timeout));
+        } catch (TimeoutException e) {
+            LogUtil.error("Text '" + text + "' not present within " + timeout.getSeconds() + " seconds: " + locator);
+            throw e;
+        }
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until the first WebElement found using a dynamic locator pattern and values contains the given text.
+     */
+    public static WebElement waitForTextToBePresent(String locatorPattern, String text, Object... values) {
+        By locator = LocatorBuilder.buildDynamicLocator(locatorPattern, values);
+        return waitForTextToBePresent(locator, text);
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until at least the given number of WebElements match the provided By locator.
+     */
+    public static void waitForElementCount(By locator, int minimumCount) {
+        Duration timeout = TimeoutPolicy.budget(TimeoutPolicy.Operation.DOM_CONDITION);
+        try {
+            TimeoutPolicy.timed(TimeoutPolicy.Operation.DOM_CONDITION,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.countAtLeast(minimumCount), timeout));
+        } catch (TimeoutException e) {
+            LogUtil.error("Fewer than " + minimumCount + " elements within " + timeout.getSeconds() + " seconds: " + locator);
+            throw e;
+        }
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until at least the given number of WebElements match a dynamic locator pattern and values.
+     */
+    public static void waitForElementCount(String locatorPattern, int minimumCount, Object... values) {
+        By locator = LocatorBuilder.buildDynamicLocator(locatorPattern, values);
+        waitForElementCount(locator, minimumCount);
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until an attribute of the first WebElement found using the provided By locator has the given value.
+     */
+    public static WebElement waitForAttributeValue(By locator, String attributeName, String value) {
+        Duration timeout = TimeoutPolicy.budget(TimeoutPolicy.Operation.DOM_CONDITION);
+        try {
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.DOM_CONDITION,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.attributeEquals(attributeName, value), timeout));
+        } catch (TimeoutException e) {
+            LogUtil.error("Attribute '" + attributeName + "' not '" + value + "' within " + timeout.getSeconds() + " seconds: " + locator);
+            throw e;
+        }
+    }
+
+    /**
+     * Author: shashi
+     * Description: Waits until an attribute of the first WebElement found using the provided By locator changes from the
+     * value it has when the wait starts.
+     */
+    public static WebElement waitForAttributeChange(By locator, String attributeName) {
+        Duration timeout = TimeoutPolicy.budget(TimeoutPolicy.Operation.DOM_CONDITION);
+        try {
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.DOM_CONDITION,
+                    () -> MutationWait.until(getDriver(), locator, MutationWait.Condition.attributeChanges(attributeName), timeout));
+        } catch (TimeoutException e) {
+            LogUtil.error("Attribute '" + attributeName + "' did not change within " + timeout.getSeconds() + " seconds: " + locator);
+            throw e;
+        }
     }
 
     // Element State Checking Methods
+    /**
+     * Author: shashi
+     * Description: Checks presence, visibility, enabled and selected state of the first element matching the locator in a
+     * single round-trip, without waiting or throwing. With a non-zero probe budget it polls until the element is present.
+     */
+    public static ElementProbe.Result probe(By locator) {
+        return TimeoutPolicy.timed(TimeoutPolicy.Operation.PRESENCE_PROBE, () -> {
+            ElementProbe.Result result = ElementProbe.probe(getDriver(), locator);
+            Duration budget = TimeoutPolicy.budget(TimeoutPolicy.Operation.PRESENCE_PROBE);
+            if (result.isPresent() || budget.isZero()) {
+                return result;
+            }
+            try {
+                return getWait(budget).until(webDriver -> {
+                    ElementProbe.Result found = ElementProbe.probe(webDriver, locator);
+                    return found.isPresent() ? found : null;
+                });
+            } catch (TimeoutException e) {
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Author: shashi
+     * Description: Checks the state of several locators in a single round-trip, without waiting or throwing.
+     * Results are returned in the order of the locators.
+     */
+    public static List<ElementProbe.Result> probeAll(By... locators) {
+        return TimeoutPolicy.timed(TimeoutPolicy.Operation.PRESENCE_PROBE, () -> ElementProbe.probeAll(getDriver(), locators));
+    }
+
     /**
      * Author: shashi
      * Description: Checks if a WebElement is present using the provided By locator.
      */
     public static boolean isElementPresent(By locator) {
-        try {
-            getDriver().findElement(locator);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return probe(locator).isPresent();
     }
 
     /**
@@ -428,12 +563,7 @@ public class CommonMethods {
      * Description: Checks if a WebElement is visible using the provided By locator.
      */
     public static boolean isElementVisible(By locator) {
-        try {
-            WebElement element = getDriver().findElement(locator);
-            return element.isDisplayed();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return probe(locator).isVisible();
     }
 
     /**
@@ -450,12 +580,7 @@ public class CommonMethods {
      * Description: Checks if a WebElement is clickable using the provided By locator.
      */
     public static boolean isElementClickable(By locator) {
-        try {
-            WebElement element = getDriver().findElement(locator);
-            return element.isDisplayed() && element.isEnabled();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return probe(locator).isClickable();
     }
 
     /**
@@ -472,12 +597,7 @@ public class CommonMethods {
      * Description: Checks if a WebElement is selected using the provided By locator.
      */
     public static boolean isElementSelected(By locator) {
-        try {
-            WebElement element = getDriver().findElement(locator);
-            return element.isSelected();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return probe(locator).isSelected();
     }
 
     /**
@@ -496,9 +616,8 @@ public class CommonMethods {
      */
     public static void scrollToElement(By locator) {
         try {
-            WebElement element = findElement(locator);
             JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            js.executeScript("arguments[0].scrollIntoView(true);", element);
+            withElement(locator, element -> js.executeScript("arguments[0].scrollIntoView(true);", element));
             LogUtil.info("Scrolled to element: " + locator);
         } catch (Exception e) {
             LogUtil.error("Failed to scroll to element: " + locator + " - " + e.getMessage());
@@ -521,9 +640,8 @@ public class CommonMethods {
      */
     public static void jsClick(By locator) {
         try {
-            WebElement element = findElement(locator);
             JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            js.executeScript("arguments[0].click();", element);
+            withElement(locator, element -> js.executeScript("arguments[0].click();", element));
             LogUtil.info("JavaScript clicked on element: " + locator);
         } catch (Exception e) {
             LogUtil.error("Failed to JavaScript click element: " + locator + " - " + e.getMessage());
@@ -718,13 +836,13 @@ public class CommonMethods {
 
     /**
      * Author: shashi
-     * Description: Returns a list of text values from WebElements found using the provided By locator.
+     * Description: Returns a list of text values from WebElements found using the provided By locator, read in a single
+     * script call. Hidden elements return an empty string, as with WebElement.getText().
      */
     public static List<String> getAllTexts(By locator) {
         try {
-            List<WebElement> elements = findElements(locator);
-            return elements.stream()
-                    .map(WebElement::getText)
+            return queryElements(locator, EnumSet.of(ElementQuery.Property.TEXT)).stream()
+                    .map(ElementQuery.Result::getText)
                     .collect(java.util.stream.Collectors.toList());
         } catch (Exception e) {
             LogUtil.error("Failed to get all texts: " + locator + " - " + e.getMessage());
@@ -741,16 +859,40 @@ public class CommonMethods {
         return getAllTexts(locator);
     }
 
+    /**
+     * Author: shashi
+     * Description: Reads the given properties (text, visibility, bounding rect) and DOM attributes of all WebElements found
+     * using the provided By locator in one round-trip. Returns an empty list when nothing matches.
+     */
+    public static List<ElementQuery.Result> queryElements(By locator, Set<ElementQuery.Property> properties, String... attributes) {
+        try {
+            List<ElementQuery.Result> results = ElementQuery.query(getDriver(), locator, properties, attributes);
+            LogUtil.info("Queried " + results.size() + " elements with locator: " + locator);
+            return results;
+        } catch (Exception e) {
+            LogUtil.error("Failed to query elements: " + locator + " - " + e.getMessage());
+            throw e;
+        }
+    }
+
     // Utility Methods
     /**
      * Author: shashi
-     * Description: Waits for the page to load completely using JavaScript document.readyState.
+     * Description: Waits for the page to load using JavaScript document.readyState, matching the configured
+     * page load strategy (complete for normal, interactive for eager, no wait for none).
      */
     public static void waitForPageToLoad() {
         try {
-            getWait().until(webDriver ->
-                    ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete"));
-            LogUtil.info("Page loaded completely");
+            PageLoadStrategy strategy = ConfigReader.getPageLoadStrategy();
+            if (strategy == PageLoadStrategy.NONE) {
+                return;
+            }
+            boolean requireComplete = strategy == PageLoadStrategy.NORMAL;
+            getWait().until(webDriver -> {
+                Object readyState = ((JavascriptExecutor) webDriver).executeScript("return document.readyState");
+                return "complete".equals(readyState) || (!requireComplete && "interactive".equals(readyState));
+            });
+            LogUtil.info("Page loaded (" + strategy + ")");
         } catch (Exception e) {
             LogUtil.warn("Page load check timed out: " + e.getMessage());
         }
@@ -764,6 +906,7 @@ public class CommonMethods {
         try {
             WebElement frame = waitForElementToBeVisible(frameLocator);
             getDriver().switchTo().frame(frame);
+            ElementCache.invalidate(getDriver());
             LogUtil.info("Switched to frame: " + frameLocator);
         } catch (Exception e) {
             LogUtil.error("Failed to switch to frame: " + frameLocator + " - " + e.getMessage());
@@ -787,6 +930,7 @@ public class CommonMethods {
     public static void switchToDefaultContent() {
         try {
             getDriver().switchTo().defaultContent();
+            ElementCache.invalidate(getDriver());
             LogUtil.info("Switched to default content");
         } catch (Exception e) {
             LogUtil.error("Failed to switch to default content: " + e.getMessage());
@@ -849,6 +993,8 @@ public class CommonMethods {
     public static void switchToWindow(String windowHandle) {
         try {
             getDriver().switchTo().window(windowHandle);
+            ElementCache.switchedToWindow(getDriver(), windowHandle);
+            RequestBlocker.follow(getDriver());
             LogUtil.info("Switched to window: " + windowHandle);
         } catch (Exception e) {
             LogUtil.error("Failed to switch to window: " + windowHandle + " - " + e.getMessage());
@@ -878,6 +1024,7 @@ public class CommonMethods {
      */
     public static void closeCurrentWindow() {
         try {
+            ElementCache.invalidate(getDriver());
             getDriver().close();
             LogUtil.info("Current window closed");
         } catch (Exception e) {
@@ -893,7 +1040,12 @@ public class CommonMethods {
      */
     public static void navigateTo(String url) {
         try {
-            getDriver().navigate().to(url);
+            TimeoutPolicy.timed(TimeoutPolicy.Operation.NAVIGATION, () -> {
+                getDriver().navigate().to(url);
+                ElementCache.invalidate(getDriver());
+                LocatorProfiler.navigated(getDriver());
+                return null;
+            });
             LogUtil.info("Navigated to: " + url);
         } catch (Exception e) {
             LogUtil.error("Failed to navigate to: " + url + " - " + e.getMessage());
@@ -907,7 +1059,12 @@ public class CommonMethods {
      */
     public static void navigateBack() {
         try {
-            getDriver().navigate().back();
+            TimeoutPolicy.timed(TimeoutPolicy.Operation.NAVIGATION, () -> {
+                getDriver().navigate().back();
+                ElementCache.invalidate(getDriver());
+                LocatorProfiler.navigated(getDriver());
+                return null;
+            });
             LogUtil.info("Navigated back");
         } catch (Exception e) {
             LogUtil.error("Failed to navigate back: " + e.getMessage());
@@ -921,7 +1078,12 @@ public class CommonMethods {
      */
     public static void navigateForward() {
         try {
-            getDriver().navigate().forward();
+            TimeoutPolicy.timed(TimeoutPolicy.Operation.NAVIGATION, () -> {
+                getDriver().navigate().forward();
+                ElementCache.invalidate(getDriver());
+                LocatorProfiler.navigated(getDriver());
+                return null;
+            });
             LogUtil.info("Navigated forward");
         } catch (Exception e) {
             LogUtil.error("Failed to navigate forward: " + e.getMessage());
@@ -935,7 +1097,12 @@ public class CommonMethods {
      */
     public static void refreshPage() {
         try {
-            getDriver().navigate().refresh();
+            TimeoutPolicy.timed(TimeoutPolicy.Operation.NAVIGATION, () -> {
+                getDriver().navigate().refresh();
+                ElementCache.invalidate(getDriver());
+                LocatorProfiler.navigated(getDriver());
+                return null;
+            });
             LogUtil.info("Page refreshed");
         } catch (Exception e) {
             LogUtil.error("Failed to refresh page: " + e.getMessage());
@@ -943,6 +1110,32 @@ public class CommonMethods {
         }
     }
 
+    /**
+     * Author: shashi
+     * Description: Waits until the current page has no pending XHR/fetch requests and no DOM changes for the
+     * configured quiet window. The step name is used to report the settle time.
+     */
+    public static long waitForPageToSettle(String step) {
+        Duration timeout = TimeoutPolicy.budget(TimeoutPolicy.Operation.SETTLE);
+        try {
+            return TimeoutPolicy.timed(TimeoutPolicy.Operation.SETTLE, () -> SettleWait.settle(getDriver(), step, timeout));
+        } catch (TimeoutException e) {
+            LogUtil.error(e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Author: shashi
+     * Description: Performs an action that updates the page (filter, sort, pagination) and waits until the page
+     * settles. Requests started by the action are tracked from the moment it begins.
+     */
+    public static long performAndWaitForPageToSettle(String step, Runnable action) {
+        SettleWait.track(getDriver());
+        action.run();
+        return waitForPageToSettle(step);
+    }
+
     /**
      * Author: shashi
      * Description: Returns the current URL of the browser.
@@ -988,11 +1181,27 @@ public class CommonMethods {
     /**
      * Author: shashi
      * Description: Opens a new browser tab with the href of the element found by the given XPath using JavaScript.
+     * The tab is opened blank and loaded after switching to it, so request blocking covers its page load,
+     * then the original tab is selected again.
      */
     public static void openNewTab(String xpath) {
+        WebDriver driver = getDriver();
         WebElement firstProductLink = CommonMethods.findElement(xpath);
-        ((JavascriptExecutor) CommonMethods.getDriver()).executeScript("window.open(arguments[0].href, '_blank');", firstProductLink);
-
+        String href = firstProductLink.getDomProperty("href");
+        String opener = driver.getWindowHandle();
+        Set<String> existing = driver.getWindowHandles();
+        ((JavascriptExecutor) driver).executeScript("window.open('about:blank', '_blank');");
+        String newTab = Waiter.of("new.tab").timeout(TimeoutPolicy.budget(TimeoutPolicy.Operation.DOM_CONDITION)).until(() -> {
+            for (String handle : driver.getWindowHandles()) {
+                if (!existing.contains(handle)) {
+                    return handle;
+                }
+            }
+            return null;
+        });
+        switchToWindow(newTab);
+        navigateTo(href);
+        switchToWindow(opener);
     }
 
 
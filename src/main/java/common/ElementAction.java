@@ -0,0 +1,161 @@
+package common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.util.List;
+
+/**
+ * Composite click. One script resolves the locator, scrolls the element to the centre of the viewport, checks
+ * that it is visible and enabled and that elementFromPoint at its centre hits the element itself, and clicks it
+ * with JavaScript right away if something else covers it (reporting the covering element). A native click
+ * follows only when the element is known to be hit, so there is no waiting for a native click to time out or
+ * be intercepted before falling back. Absent, hidden or disabled elements are waited for once with
+ * MutationWait and checked again.
+ */
+public class ElementAction {
+
+    private static final String CLICK_SCRIPT = ElementCache.domVersionScript(ElementQuery.VISIBLE_FUNCTION
+            + " var using = arguments[0], value = arguments[1], el = arguments[2];"
+            + " if (!el) {"
+            + "   el = using === 'xpath'"
+            + "     ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "     : document.querySelector(value);"
+            + " }"
+            + " if (!(el instanceof Element)) { return ['ABSENT', null, null, version]; }"
+            + " if (!isVisible(el)) { return ['HIDDEN', el, null, version]; }"
+            + " if (el.disabled) { return ['DISABLED', el, null, version]; }"
+            + " try { el.scrollIntoView({ block: 'center', inline: 'nearest', behavior: 'instant' }); } catch (e) { el.scrollIntoView(true); }"
+            + " var rect = el.getBoundingClientRect();"
+            + " var top = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);"
+            + " if (!top || top === el || el.contains(top)) { return ['READY', el, null, version]; }"
+            + " var blocker = top.tagName.toLowerCase() + (top.id ? '#' + top.id"
+            + "   : typeof top.className === 'string' && top.className.trim() ? '.' + top.className.trim().split(/\\s+/)[0] : '');"
+            + " if (typeof el.click === 'function') { el.click(); }"
+            + " else { el.dispatchEvent(new MouseEvent('click', { bubbles: true, cancelable: true, view: window })); }"
+            + " return ['CLICKED', el, blocker, version];");
+
+    private static final String JS_CLICK_SCRIPT = "arguments[0].click();";
+
+    private ElementAction() {}
+
+    /**
+     * What the click script found
+     */
+    public enum Status {
+        /** Visible, enabled and not covered; clicked natively */
+        READY,
+        /** Covered by another element; clicked with JavaScript */
+        CLICKED,
+        ABSENT,
+        HIDDEN,
+        DISABLED
+    }
+
+    /**
+     * Outcome of a click
+     */
+    public static final class Result {
+        private final Status status;
+        private final WebElement element;
+        private final String blocker;
+
+        Result(Status status, WebElement element, String blocker) {
+            this.status = status;
+            this.element = element;
+            this.blocker = blocker;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        /**
+         * True if the element was clicked natively, false if it was clicked with JavaScript
+         */
+        public boolean isNativeClick() {
+            return status == Status.READY;
+        }
+
+        /**
+         * Tag and id or first class of the element that covered the target, or null if nothing did
+         */
+        public String getBlocker() {
+            return blocker;
+        }
+    }
+
+    /**
+     * Scrolls to and clicks the element for the locator in one script call plus, when nothing covers it,
+     * a native click. Waits up to the clickability budget if the element is not yet clickable.
+     * Throws ElementNotInteractableException if it still is not after the wait.
+     */
+    public static Result click(WebDriver driver, By locator) {
+        long start = System.nanoTime();
+        try {
+            Result result = inspectAndClick(driver, locator);
+            if (result.status == Status.ABSENT || result.status == Status.HIDDEN || result.status == Status.DISABLED) {
+                RunMetrics.increment("click.waits");
+                TimeoutPolicy.timed(TimeoutPolicy.Operation.CLICKABILITY, () -> MutationWait.until(driver, locator,
+                        MutationWait.Condition.clickable(), TimeoutPolicy.budget(TimeoutPolicy.Operation.CLICKABILITY)));
+                result = inspectAndClick(driver, locator);
+            }
+            switch (result.status) {
+                case READY:
+                    try {
+                        result.element.click();
+                        RunMetrics.increment("click.native");
+                        return result;
+                    } catch (ElementClickInterceptedException e) {
+                        // Covered between the check and the click, e.g. by an overlay that was still animating in
+                        ((JavascriptExecutor) driver).executeScript(JS_CLICK_SCRIPT, result.element);
+                        RunMetrics.increment("click.js");
+                        return new Result(Status.CLICKED, result.element, "intercepted: " + e.getRawMessage());
+                    }
+                case CLICKED:
+                    RunMetrics.increment("click.js");
+                    LogUtil.warn("Click on " + locator + " would hit " + result.blocker + ", clicked with JavaScript");
+                    return result;
+                default:
+                    throw new ElementNotInteractableException("Element is " + result.status.name().toLowerCase()
+                            + " and cannot be clicked: " + locator);
+            }
+        } finally {
+            RunMetrics.addScenarioTime("click", System.nanoTime() - start);
+        }
+    }
+
+    private static Result inspectAndClick(WebDriver driver, By locator) {
+        long start = System.nanoTime();
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+        String using = parameters == null ? null : parameters.using();
+        WebElement given = null;
+        if (!"css selector".equals(using) && !"xpath".equals(using)) {
+            List<WebElement> elements = driver.findElements(locator);
+            if (elements.isEmpty()) {
+                return new Result(Status.ABSENT, null, null);
+            }
+            given = elements.get(0);
+        }
+        List<?> row = (List<?>) ((JavascriptExecutor) driver).executeScript(CLICK_SCRIPT, using,
+                parameters == null ? null : String.valueOf(parameters.value()), given);
+        Status status = Status.valueOf(String.valueOf(row.get(0)));
+        WebElement element = row.get(1) instanceof WebElement ? (WebElement) row.get(1) : null;
+        if (row.get(3) != null) {
+            ElementCache.remember(driver, locator, element, String.valueOf(row.get(3)));
+        }
+        LocatorProfiler.record(driver, locator, System.nanoTime() - start, element == null ? 0 : 1, false);
+        return new Result(status, element, row.get(2) == null ? null : String.valueOf(row.get(2)));
+    }
+}
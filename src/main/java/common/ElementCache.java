@@ -0,0 +1,209 @@
+package common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import config.ConfigReader;
+import utils.RunMetrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-driver cache of resolved WebElement handles, keyed by window handle and locator.
+ * An injected MutationObserver keeps a DOM version token (document id, mutation count, path) in the
+ * page; a cached handle is reused only while the token is unchanged, so any mutation, navigation,
+ * window or frame switch forces a fresh lookup. Every lookup of a CSS/XPath locator is one script that
+ * compares the token with the cached one and, only if it changed, resolves the locator again in the same
+ * call; an absent element throws NoSuchElementException without a further findElement. A lookup therefore
+ * costs exactly one round-trip, like findElement, and a hit skips the locator evaluation in the page.
+ * element.cache.roundtrips counts the WebDriver calls made, so roundtrips / (hits + misses) shows the
+ * cost per lookup. Other locator types bypass the cache. Callers that still hit a
+ * StaleElementReferenceException evict the entry and resolve again.
+ */
+public class ElementCache {
+
+    private static final String VERSION_SCRIPT = "var w = window;"
+            + " if (!w.__domVersion) {"
+            + "   w.__domVersion = { id: Math.random().toString(36).slice(2), count: 0 };"
+            + "   new MutationObserver(function () { w.__domVersion.count++; })"
+            + "     .observe(document, { childList: true, subtree: true, characterData: true, attributes: true });"
+            + " }"
+            + " var domVersion = function () { return w.__domVersion.id + ':' + w.__domVersion.count + '@' + location.pathname; };"
+            + " var version = domVersion();";
+
+    // Returns [version, true] while the cached version is current, otherwise [version, false, element or null]
+    private static final String FIND_SCRIPT = VERSION_SCRIPT
+            + " if (arguments[2] !== null && arguments[2] === version) { return [version, true]; }"
+            + " var element = arguments[0] === 'xpath'"
+            + "   ? document.evaluate(arguments[1], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "   : document.querySelector(arguments[1]);"
+            + " return [version, false, element instanceof Element ? element : null];";
+
+    private static final Map<WebDriver, DriverCache> caches = new ConcurrentHashMap<>();
+
+    private ElementCache() {}
+
+    private static class Entry {
+        private final WebElement element;
+        private final String version;
+
+        Entry(WebElement element, String version) {
+            this.element = element;
+            this.version = version;
+        }
+    }
+
+    private static class DriverCache {
+        private final Map<String, Map<By, Entry>> windows = new HashMap<>();
+        private String window = "";
+
+        Map<By, Entry> current() {
+            return windows.computeIfAbsent(window, key -> new HashMap<>());
+        }
+    }
+
+    /**
+     * Returns the element for the locator, reusing the cached handle while the page's DOM version is unchanged.
+     * Throws NoSuchElementException like WebDriver.findElement when nothing matches.
+     */
+    public static WebElement find(WebDriver driver, By locator) {
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+        String using = parameters == null ? null : parameters.using();
+        if (!ConfigReader.isElementCacheEnabled() || !(driver instanceof JavascriptExecutor)
+                || !("css selector".equals(using) || "xpath".equals(using))) {
+            return findUncached(driver, locator);
+        }
+        DriverCache cache = caches.computeIfAbsent(driver, key -> new DriverCache());
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.current().get(locator);
+        }
+        long start = System.nanoTime();
+        List<?> result;
+        try {
+            result = (List<?>) ((JavascriptExecutor) driver).executeScript(FIND_SCRIPT, using, String.valueOf(parameters.value()),
+                    entry == null ? null : entry.version);
+        } catch (WebDriverException e) {
+            // Selectors the page cannot evaluate in script (e.g. browser-specific syntax) go to the driver
+            return findUncached(driver, locator);
+        } finally {
+            RunMetrics.increment("element.cache.roundtrips");
+        }
+        String version = String.valueOf(result.get(0));
+        pageSeen(driver, version);
+        if (Boolean.TRUE.equals(result.get(1))) {
+            RunMetrics.increment("element.cache.hits");
+            return entry.element;
+        }
+        RunMetrics.increment("element.cache.misses");
+        if (!(result.get(2) instanceof WebElement)) {
+            LocatorProfiler.record(driver, locator, System.nanoTime() - start, 0, true);
+            throw new NoSuchElementException("Unable to locate element: " + locator);
+        }
+        WebElement element = (WebElement) result.get(2);
+        LocatorProfiler.record(driver, locator, System.nanoTime() - start, 1, false);
+        synchronized (cache) {
+            cache.current().put(locator, new Entry(element, version));
+        }
+        return element;
+    }
+
+    /**
+     * Prefixes a script with the DOM version bootstrap, so the script can read the token at its start from the
+     * variable {@code version} (or later by calling {@code domVersion()}) and return it with its own result
+     */
+    public static String domVersionScript(String body) {
+        return VERSION_SCRIPT + " " + body;
+    }
+
+    /**
+     * Stores an element another component resolved for the locator, together with the DOM version token read
+     * when it was found (see {@link #domVersionScript(String)}), so the next lookup can reuse it. The page in the
+     * token is passed on to the LocatorProfiler even when the element is null or the cache is disabled.
+     */
+    public static void remember(WebDriver driver, By locator, WebElement element, String version) {
+        pageSeen(driver, version);
+        if (!ConfigReader.isElementCacheEnabled() || element == null || version == null) {
+            return;
+        }
+        DriverCache cache = caches.computeIfAbsent(driver, key -> new DriverCache());
+        synchronized (cache) {
+            cache.current().put(locator, new Entry(element, version));
+        }
+    }
+
+    /**
+     * Drops a single locator after its handle went stale, so the next lookup resolves it again
+     */
+    public static void evict(WebDriver driver, By locator) {
+        DriverCache cache = caches.get(driver);
+        if (cache == null) {
+            return;
+        }
+        RunMetrics.increment("element.cache.stale");
+        synchronized (cache) {
+            cache.current().remove(locator);
+        }
+    }
+
+    /**
+     * Drops all handles of the current window, e.g. after navigation, a frame switch or a stale element
+     */
+    public static void invalidate(WebDriver driver) {
+        DriverCache cache = caches.get(driver);
+        if (cache == null) {
+            return;
+        }
+        RunMetrics.increment("element.cache.invalidations");
+        synchronized (cache) {
+            cache.windows.remove(cache.window);
+        }
+    }
+
+    /**
+     * Selects the window whose handles later lookups use. Entries of other windows are kept and
+     * remain usable when switching back, as long as their DOM version still matches.
+     */
+    public static void switchedToWindow(WebDriver driver, String windowHandle) {
+        DriverCache cache = caches.computeIfAbsent(driver, key -> new DriverCache());
+        synchronized (cache) {
+            cache.window = windowHandle;
+        }
+    }
+
+    /**
+     * Removes all cached handles of a driver before it is reused for another scenario or quit
+     */
+    public static void forget(WebDriver driver) {
+        caches.remove(driver);
+    }
+
+    /**
+     * Passes the page path carried in a version token (after '@') on to the LocatorProfiler
+     */
+    private static void pageSeen(WebDriver driver, String version) {
+        int separator = version == null ? -1 : version.indexOf('@');
+        if (separator >= 0) {
+            LocatorProfiler.pageSeen(driver, version.substring(separator + 1));
+        }
+    }
+
+    private static WebElement findUncached(WebDriver driver, By locator) {
+        long start = System.nanoTime();
+        try {
+            WebElement element = driver.findElement(locator);
+            LocatorProfiler.record(driver, locator, System.nanoTime() - start, 1, false);
+            return element;
+        } catch (NoSuchElementException e) {
+            LocatorProfiler.record(driver, locator, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Zero-wait element state checks. One script call reports, for each locator, how many elements
+ * match and whether the first one is visible, enabled and selected, so optional elements can be
+ * checked without waits, implicit-wait stalls or exceptions. CSS and XPath locators are resolved in
+ * the page; other locator types cost one findElements each. Any WebDriver error is reported as
+ * "absent" and counted in probe.errors.
+ */
+public class ElementProbe {
+
+    private static final String SCRIPT = ElementQuery.VISIBLE_FUNCTION
+            + " return [location.pathname, arguments[0].map(function (query) {"
+            + "   var elements = query[2];"
+            + "   if (!elements) {"
+            + "     if (query[0] === 'xpath') {"
+            + "       var snapshot = document.evaluate(query[1], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "       elements = [];"
+            + "       for (var i = 0; i < snapshot.snapshotLength; i++) {"
+            + "         if (snapshot.snapshotItem(i) instanceof Element) { elements.push(snapshot.snapshotItem(i)); }"
+            + "       }"
+            + "     } else { elements = document.querySelectorAll(query[1]); }"
+            + "   }"
+            + "   if (elements.length === 0) { return [0, false, false, false]; }"
+            + "   var el = elements[0];"
+            + "   return [elements.length, isVisible(el), !el.disabled, !!(el.checked || el.selected)];"
+            + " })];";
+
+    private ElementProbe() {}
+
+    /**
+     * State of the first element matching a probed locator
+     */
+    public static final class Result {
+        private static final Result ABSENT = new Result(0, false, false, false);
+
+        private final int count;
+        private final boolean visible;
+        private final boolean enabled;
+        private final boolean selected;
+
+        Result(int count, boolean visible, boolean enabled, boolean selected) {
+            this.count = count;
+            this.visible = visible;
+            this.enabled = enabled;
+            this.selected = selected;
+        }
+
+        public boolean isPresent() {
+            return count > 0;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * Visible and enabled, the same check ExpectedConditions.elementToBeClickable makes
+         */
+        public boolean isClickable() {
+            return visible && enabled;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Checked checkbox/radio or selected option
+         */
+        public boolean isSelected() {
+            return selected;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{count=" + count + ", visible=" + visible + ", enabled=" + enabled + ", selected=" + selected + "}";
+        }
+    }
+
+    /**
+     * Checks a single locator immediately. Never throws for missing elements.
+     */
+    public static Result probe(WebDriver driver, By locator) {
+        return probeAll(driver, locator).get(0);
+    }
+
+    /**
+     * Checks several locators in one round-trip. Results are in the order of the locators.
+     */
+    public static List<Result> probeAll(WebDriver driver, By... locators) {
+        long start = System.nanoTime();
+        List<Result> results;
+        try {
+            List<List<Object>> queries = new ArrayList<>(locators.length);
+            for (By locator : locators) {
+                By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+                String using = parameters == null ? null : parameters.using();
+                List<WebElement> elements = "css selector".equals(using) || "xpath".equals(using) ? null : driver.findElements(locator);
+                queries.add(Arrays.asList(using, parameters == null ? null : String.valueOf(parameters.value()), elements));
+            }
+            List<?> response = (List<?>) ((JavascriptExecutor) driver).executeScript(SCRIPT, queries);
+            LocatorProfiler.pageSeen(driver, (String) response.get(0));
+            List<?> rows = (List<?>) response.get(1);
+            results = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                List<?> values = (List<?>) row;
+                results.add(new Result(((Number) values.get(0)).intValue(), Boolean.TRUE.equals(values.get(1)),
+                        Boolean.TRUE.equals(values.get(2)), Boolean.TRUE.equals(values.get(3))));
+            }
+        } catch (WebDriverException e) {
+            RunMetrics.increment("probe.errors");
+            LogUtil.warn("Probe failed for " + Arrays.toString(locators) + ", reporting absent: " + e.getMessage());
+            results = new ArrayList<>(Collections.nCopies(locators.length, Result.ABSENT));
+        }
+        long elapsed = System.nanoTime() - start;
+        RunMetrics.increment("probe.calls");
+        RunMetrics.add("probe.locators", locators.length);
+        RunMetrics.addScenarioTime("probe", elapsed);
+        for (int i = 0; i < locators.length; i++) {
+            LocatorProfiler.record(driver, locators[i], elapsed / locators.length, results.get(i).getCount(), false);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,180 @@
+package common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import utils.RunMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads text, attributes, visibility and bounding rectangles of every element matching a locator
+ * in a single executeScript call, instead of one WebDriver round-trip per element and property.
+ * CSS and XPath locators are resolved inside the script; other locators cost one extra findElements.
+ * Visibility and text follow WebElement.isDisplayed/getText closely but not exactly: hidden
+ * elements report empty text, and visibility is computed from layout and computed style.
+ */
+public class ElementQuery {
+
+    /**
+     * Element properties a query can return besides attributes
+     */
+    public enum Property {
+        TEXT, VISIBLE, RECT
+    }
+
+    /** Defines isVisible(el), an approximation of WebElement.isDisplayed() from layout and computed style */
+    static final String VISIBLE_FUNCTION = "function isVisible(el) {"
+            + " var rect = el.getBoundingClientRect(), style = window.getComputedStyle(el);"
+            + " return el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0'"
+            + "   && rect.width > 0 && rect.height > 0"
+            + "   && rect.right + window.pageXOffset > 0 && rect.bottom + window.pageYOffset > 0;"
+            + " }";
+
+    private static final String SCRIPT = VISIBLE_FUNCTION + " var using = arguments[0], value = arguments[1], elements = arguments[2];"
+            + " var props = arguments[3], attributes = arguments[4];"
+            + " if (!elements) {"
+            + "   elements = [];"
+            + "   if (using === 'xpath') {"
+            + "     var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "     for (var i = 0; i < snapshot.snapshotLength; i++) {"
+            + "       if (snapshot.snapshotItem(i) instanceof Element) { elements.push(snapshot.snapshotItem(i)); }"
+            + "     }"
+            + "   } else { elements = Array.prototype.slice.call(document.querySelectorAll(value)); }"
+            + " }"
+            + " var needVisible = props.indexOf('TEXT') >= 0 || props.indexOf('VISIBLE') >= 0;"
+            + " return [location.pathname, elements.map(function (el) {"
+            + "   var row = [], visible = needVisible && isVisible(el);"
+            + "   if (props.indexOf('TEXT') >= 0) { row.push(visible ? el.innerText.replace(/\\u00a0/g, ' ').trim() : ''); }"
+            + "   if (props.indexOf('VISIBLE') >= 0) { row.push(visible); }"
+            + "   if (props.indexOf('RECT') >= 0) {"
+            + "     var rect = el.getBoundingClientRect();"
+            + "     row.push([Math.round(rect.left + window.pageXOffset), Math.round(rect.top + window.pageYOffset),"
+            + "       Math.round(rect.width), Math.round(rect.height)]);"
+            + "   }"
+            + "   for (var a = 0; a < attributes.length; a++) { row.push(el.getAttribute(attributes[a])); }"
+            + "   return row;"
+            + " })];";
+
+    private ElementQuery() {}
+
+    /**
+     * Values read for one matched element. Properties that were not requested are empty/false/null.
+     */
+    public static final class Result {
+        private final int index;
+        private final String text;
+        private final boolean visible;
+        private final Rectangle rect;
+        private final Map<String, String> attributes;
+
+        Result(int index, String text, boolean visible, Rectangle rect, Map<String, String> attributes) {
+            this.index = index;
+            this.text = text;
+            this.visible = visible;
+            this.rect = rect;
+            this.attributes = attributes;
+        }
+
+        /**
+         * Position of the element among all matches, in document order
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * Bounding rectangle relative to the document, or null if RECT was not requested
+         */
+        public Rectangle getRect() {
+            return rect;
+        }
+
+        /**
+         * DOM attribute value as written in the markup (like WebElement.getDomAttribute), or null if absent
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{index=" + index + ", text='" + text + "', visible=" + visible + ", rect=" + rect
+                    + ", attributes=" + attributes + "}";
+        }
+    }
+
+    /**
+     * Reads the requested properties and attributes of all elements matching the locator in one round-trip.
+     * Returns an empty list when nothing matches.
+     */
+    public static List<Result> query(WebDriver driver, By locator, Set<Property> properties, String... attributes) {
+        long start = System.nanoTime();
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+        String using = parameters == null ? null : parameters.using();
+        List<WebElement> elements = null;
+        if (!"css selector".equals(using) && !"xpath".equals(using)) {
+            elements = driver.findElements(locator);
+        }
+        EnumSet<Property> requested = properties.isEmpty() ? EnumSet.noneOf(Property.class) : EnumSet.copyOf(properties);
+        List<String> propertyNames = new ArrayList<>();
+        requested.forEach(property -> propertyNames.add(property.name()));
+
+        List<?> response = (List<?>) ((JavascriptExecutor) driver).executeScript(SCRIPT, using,
+                parameters == null ? null : String.valueOf(parameters.value()), elements, propertyNames, Arrays.asList(attributes));
+        LocatorProfiler.pageSeen(driver, (String) response.get(0));
+        List<?> rows = (List<?>) response.get(1);
+
+        List<Result> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            results.add(toResult(i, (List<?>) rows.get(i), requested, attributes));
+        }
+        LocatorProfiler.record(driver, locator, System.nanoTime() - start, results.size(), false);
+        RunMetrics.increment("element.query.calls");
+        RunMetrics.add("element.query.elements", results.size());
+        RunMetrics.addScenarioTime("element.query", System.nanoTime() - start);
+        return results;
+    }
+
+    private static Result toResult(int index, List<?> row, Set<Property> requested, String[] attributes) {
+        int column = 0;
+        String text = "";
+        boolean visible = false;
+        Rectangle rect = null;
+        if (requested.contains(Property.TEXT)) {
+            text = String.valueOf(row.get(column++));
+        }
+        if (requested.contains(Property.VISIBLE)) {
+            visible = Boolean.TRUE.equals(row.get(column++));
+        }
+        if (requested.contains(Property.RECT)) {
+            List<?> values = (List<?>) row.get(column++);
+            rect = new Rectangle(((Number) values.get(0)).intValue(), ((Number) values.get(1)).intValue(),
+                    ((Number) values.get(3)).intValue(), ((Number) values.get(2)).intValue());
+        }
+        Map<String, String> attributeValues = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            Object value = row.get(column++);
+            attributeValues.put(attribute, value == null ? null : String.valueOf(value));
+        }
+        return new Result(index, text, visible, rect, attributeValues.isEmpty() ? Collections.emptyMap() : attributeValues);
+    }
+}
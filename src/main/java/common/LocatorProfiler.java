@@ -0,0 +1,245 @@
+package common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Records how long each locator resolved through CommonMethods takes, how many elements it matched
+ * and how often it found nothing, per page URL pattern. At the end of the run the locators are ranked
+ * by mean resolution time into locator-profile.json in the report directory, with the xpath.*
+ * interface constant each locator was built from, and the slowest ones are logged.
+ * The page is the path last reported for that driver, with ids and slugs replaced by *. Paths are reported
+ * by the scripts that already run in the page (element cache, probe, query, click, waits) and read from the
+ * driver after CommonMethods navigations, so attribution does not depend on the element cache being enabled.
+ */
+public class LocatorProfiler {
+
+    private static final String PROFILE_FILE = "locator-profile.json";
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> pages = new ConcurrentHashMap<>();
+
+    private LocatorProfiler() {}
+
+    private static class Stats {
+        private final String page;
+        private final By locator;
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Stats(String page, By locator) {
+            this.page = page;
+            this.locator = locator;
+        }
+
+        double meanMillis() {
+            long count = resolutions.sum();
+            return count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+        }
+    }
+
+    /**
+     * Records one resolution of a locator. A failure is a lookup that was expected to find an element and did not.
+     */
+    public static void record(WebDriver driver, By locator, long nanos, int matchCount, boolean failed) {
+        if (!ConfigReader.isLocatorProfilerEnabled()) {
+            return;
+        }
+        String page = pagePattern(driver == null ? null : pages.get(driver));
+        Stats entry = stats.computeIfAbsent(page + " " + locator, key -> new Stats(page, locator));
+        entry.resolutions.increment();
+        entry.totalNanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        entry.matches.add(matchCount);
+        if (failed) {
+            entry.failures.increment();
+        }
+    }
+
+    /**
+     * Notes the path (location.pathname) of the page the driver is on; later records are filed under it
+     */
+    public static void pageSeen(WebDriver driver, String path) {
+        if (driver != null && path != null) {
+            pages.put(driver, path);
+        }
+    }
+
+    /**
+     * Reads the current URL after a navigation so the records that follow are filed under the new page.
+     * Costs one round-trip, so it is skipped while the profiler is disabled.
+     */
+    public static void navigated(WebDriver driver) {
+        if (!ConfigReader.isLocatorProfilerEnabled()) {
+            return;
+        }
+        try {
+            pageSeen(driver, new URL(driver.getCurrentUrl()).getPath());
+        } catch (Exception e) {
+            pages.remove(driver);
+        }
+    }
+
+    /**
+     * Drops the page of a driver that is being reused for another scenario or quit
+     */
+    public static void forget(WebDriver driver) {
+        pages.remove(driver);
+    }
+
+    /**
+     * Writes the ranked locator report and logs the slowest locators. Call before RunMetrics.publish().
+     */
+    public static void publish() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        List<Stats> ranked = new ArrayList<>(stats.values());
+        ranked.sort(Comparator.comparingDouble(Stats::meanMillis).reversed());
+        Map<String, String> constants = constantIndex(ConfigReader.getLocatorConstantsPackage());
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Stats entry : ranked) {
+            long count = entry.resolutions.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("locator", entry.locator.toString());
+            row.put("constant", constantOf(entry.locator, constants));
+            row.put("page", entry.page);
+            row.put("resolutions", count);
+            row.put("meanMs", Math.round(entry.meanMillis() * 100) / 100.0);
+            row.put("maxMs", Math.round(entry.maxNanos.get() / 10_000.0) / 100.0);
+            row.put("failureRate", Math.round(entry.failures.sum() * 1000.0 / count) / 1000.0);
+            row.put("meanMatches", Math.round(entry.matches.sum() * 100.0 / count) / 100.0);
+            rows.add(row);
+        }
+
+        int reportSize = ConfigReader.getLocatorProfilerReportSize();
+        LogUtil.info("==================== SLOWEST LOCATORS ====================");
+        for (Map<String, Object> row : rows.subList(0, Math.min(reportSize, rows.size()))) {
+            LogUtil.info(row.get("meanMs") + " ms avg (max " + row.get("maxMs") + " ms, n=" + row.get("resolutions")
+                    + ", failures " + row.get("failureRate") + ") " + row.get("locator")
+                    + (row.get("constant") == null ? "" : " [" + row.get("constant") + "]") + " on " + row.get("page"));
+        }
+        LogUtil.info("==========================================================");
+        Map<String, Object> slowest = rows.get(0);
+        RunMetrics.setInfo("locator.slowest", slowest.get("meanMs") + " ms avg: "
+                + (slowest.get("constant") != null ? slowest.get("constant") : slowest.get("locator")));
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("locators", rows);
+        try {
+            File file = new File(ConfigReader.getReportPath(), PROFILE_FILE);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, profile);
+            LogUtil.info("Locator profile written to: " + file.getAbsolutePath());
+        } catch (Exception e) {
+            LogUtil.warn("Failed to write locator profile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces path segments that look like ids, slugs or tracking refs (digits, dashes, very long) with *,
+     * so all product pages share one pattern
+     */
+    static String pagePattern(String path) {
+        if (path == null || path.isEmpty()) {
+            return "unknown";
+        }
+        StringBuilder pattern = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            boolean variable = segment.matches(".*\\d.*") || segment.contains("-") || segment.length() > 30;
+            pattern.append('/').append(variable ? "*" : segment);
+        }
+        return pattern.length() == 0 ? "/" : pattern.toString();
+    }
+
+    private static String constantOf(By locator, Map<String, String> constants) {
+        String source = LocatorRegistry.sourceOf(locator);
+        if (source != null && constants.containsKey(source)) {
+            return constants.get(source);
+        }
+        String description = locator.toString();
+        String value = description.substring(description.indexOf(':') + 1).trim();
+        return constants.get(value);
+    }
+
+    /**
+     * Maps every String constant of the interfaces in the package to "Interface.FIELD"
+     */
+    private static Map<String, String> constantIndex(String packageName) {
+        Map<String, String> constants = new HashMap<>();
+        for (String className : classesIn(packageName)) {
+            try {
+                Class<?> type = Class.forName(className);
+                for (Field field : type.getFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                        constants.putIfAbsent((String) field.get(null), type.getSimpleName() + "." + field.getName());
+                    }
+                }
+            } catch (Throwable e) {
+                LogUtil.warn("Could not read locator constants from " + className + ": " + e.getMessage());
+            }
+        }
+        return constants;
+    }
+
+    private static List<String> classesIn(String packageName) {
+        List<String> classNames = new ArrayList<>();
+        String directory = packageName.replace('.', '/');
+        try {
+            Enumeration<URL> resources = LocatorProfiler.class.getClassLoader().getResources(directory);
+            for (URL resource : Collections.list(resources)) {
+                if ("file".equals(resource.getProtocol())) {
+                    try (Stream<Path> files = Files.list(Paths.get(resource.toURI()))) {
+                        files.map(path -> path.getFileName().toString())
+                                .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                                .forEach(name -> classNames.add(packageName + "." + name.substring(0, name.length() - 6)));
+                    }
+                } else if ("jar".equals(resource.getProtocol())) {
+                    JarFile jar = ((JarURLConnection) resource.openConnection()).getJarFile();
+                    jar.stream().map(entry -> entry.getName())
+                            .filter(name -> name.startsWith(directory + "/") && name.endsWith(".class") && !name.contains("$")
+                                    && name.indexOf('/', directory.length() + 1) < 0)
+                            .forEach(name -> classNames.add(name.substring(0, name.length() - 6).replace('/', '.')));
+                }
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Could not list locator constant classes in " + packageName + ": " + e.getMessage());
+        }
+        return classNames;
+    }
+}
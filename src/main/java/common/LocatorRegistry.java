@@ -0,0 +1,217 @@
+package common;
+
+import org.openqa.selenium.By;
+
+import utils.RunMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Interned registry of compiled locators. A locator pattern is parsed once into a {@link Template}
+ * that knows its locator type and placeholder positions; each distinct argument tuple is then
+ * formatted and turned into a By once and reused, so repeated lookups of the same locator do no
+ * String.format, prefix checks or By allocation. Page objects can hold Templates (or the By of a
+ * constant locator) in static fields. Patterns support %s and %d placeholders and %% escapes;
+ * anything else falls back to String.format with identical results.
+ */
+public class LocatorRegistry {
+
+    /** Upper bound on cached argument tuples per template, so unbounded dynamic values cannot grow the cache forever */
+    private static final int MAX_INSTANCES_PER_TEMPLATE = 1_000;
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Map<String, By> ids = new ConcurrentHashMap<>();
+    private static final Map<String, By> xpaths = new ConcurrentHashMap<>();
+    private static final Map<String, By> cssSelectors = new ConcurrentHashMap<>();
+    private static final Map<String, By> names = new ConcurrentHashMap<>();
+    private static final Map<String, By> classNames = new ConcurrentHashMap<>();
+    private static final Map<By, String> sources = new ConcurrentHashMap<>();
+
+    private LocatorRegistry() {}
+
+    /**
+     * Locator strategy of a pattern, chosen once from its prefix
+     */
+    public enum LocatorType {
+        XPATH, CSS
+    }
+
+    /**
+     * A compiled locator pattern. Thread-safe; meant to be held in static fields by page objects.
+     */
+    public static final class Template {
+        private final String pattern;
+        private final LocatorType type;
+        private final String[] segments;
+        private final char[] conversions;
+        private final Map<List<Object>, By> instances = new ConcurrentHashMap<>();
+        private volatile By constant;
+
+        private Template(String pattern) {
+            this.pattern = pattern;
+            this.type = resolveType(pattern);
+            List<String> parsedSegments = new ArrayList<>();
+            StringBuilder conversionChars = new StringBuilder();
+            if (!parse(pattern, parsedSegments, conversionChars)) {
+                parsedSegments = null;
+            }
+            this.segments = parsedSegments == null ? null : parsedSegments.toArray(new String[0]);
+            this.conversions = parsedSegments == null ? null : conversionChars.toString().toCharArray();
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public LocatorType getType() {
+            return type;
+        }
+
+        /**
+         * Returns the interned By for the given values, formatting the pattern only the first time
+         */
+        public By with(Object... values) {
+            if (values.length == 0) {
+                By result = constant;
+                if (result == null) {
+                    result = build();
+                    constant = result;
+                    sources.putIfAbsent(result, pattern);
+                }
+                return result;
+            }
+            List<Object> key = Arrays.asList(values);
+            By result = instances.get(key);
+            if (result != null) {
+                return result;
+            }
+            result = build(values);
+            if (instances.size() < MAX_INSTANCES_PER_TEMPLATE) {
+                instances.putIfAbsent(Arrays.asList(values.clone()), result);
+                sources.putIfAbsent(result, pattern);
+            }
+            return result;
+        }
+
+        private By build(Object... values) {
+            RunMetrics.increment("locator.compiled");
+            String locator = format(values);
+            return type == LocatorType.XPATH ? By.xpath(locator) : By.cssSelector(locator);
+        }
+
+        private String format(Object... values) {
+            if (segments == null || values.length != conversions.length) {
+                return String.format(pattern, values);
+            }
+            StringBuilder result = new StringBuilder(pattern.length() + 16 * values.length).append(segments[0]);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (conversions[i] == 'd' && !(value instanceof Integer || value instanceof Long
+                        || value instanceof Short || value instanceof Byte)) {
+                    // Let String.format raise the usual IllegalFormatConversionException
+                    return String.format(pattern, values);
+                }
+                result.append(value).append(segments[i + 1]);
+            }
+            return result.toString();
+        }
+    }
+
+    /**
+     * Returns the compiled template for a pattern, compiling it on first use
+     */
+    public static Template compile(String pattern) {
+        return templates.computeIfAbsent(pattern, Template::new);
+    }
+
+    /**
+     * Returns the interned By for a pattern and its values
+     */
+    public static By locator(String pattern, Object... values) {
+        return compile(pattern).with(values);
+    }
+
+    public static By id(String id) {
+        return intern(ids, id, By::id);
+    }
+
+    public static By xpath(String xpath) {
+        return intern(xpaths, xpath, By::xpath);
+    }
+
+    public static By css(String css) {
+        return intern(cssSelectors, css, By::cssSelector);
+    }
+
+    public static By name(String name) {
+        return intern(names, name, By::name);
+    }
+
+    public static By className(String className) {
+        return intern(classNames, className, By::className);
+    }
+
+    /**
+     * Returns the pattern or raw value a registry locator was built from, or null for locators created elsewhere
+     */
+    public static String sourceOf(By locator) {
+        return sources.get(locator);
+    }
+
+    private static By intern(Map<String, By> cache, String value, Function<String, By> factory) {
+        return cache.computeIfAbsent(value, key -> {
+            By locator = factory.apply(key);
+            sources.putIfAbsent(locator, key);
+            return locator;
+        });
+    }
+
+    /**
+     * Same prefix rules LocatorBuilder has always used: XPath unless the pattern looks like a CSS selector
+     */
+    private static LocatorType resolveType(String pattern) {
+        if (pattern.startsWith("//") || pattern.startsWith("(")) {
+            return LocatorType.XPATH;
+        } else if (pattern.startsWith("#")) {
+            return LocatorType.CSS;
+        } else if (pattern.contains("[") && pattern.contains("]")) {
+            return LocatorType.CSS;
+        }
+        return LocatorType.XPATH;
+    }
+
+    /**
+     * Splits a pattern into literal segments around %s/%d placeholders. Returns false if the pattern uses any
+     * other format syntax, in which case the template formats with String.format.
+     */
+    private static boolean parse(String pattern, List<String> segments, StringBuilder conversions) {
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                segment.append(c);
+                continue;
+            }
+            if (i + 1 >= pattern.length()) {
+                return false;
+            }
+            char next = pattern.charAt(++i);
+            if (next == '%') {
+                segment.append('%');
+            } else if (next == 's' || next == 'd') {
+                segments.add(segment.toString());
+                segment.setLength(0);
+                conversions.append(next);
+            } else {
+                return false;
+            }
+        }
+        segments.add(segment.toString());
+        return true;
+    }
+}
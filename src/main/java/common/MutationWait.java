@@ -0,0 +1,250 @@
+package common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import utils.LogUtil;
+import utils.RunMetrics;
+import utils.Waiter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event-driven element waits. One executeAsyncScript installs a MutationObserver and resolves as soon
+ * as the condition holds, so a wait reacts within milliseconds of the DOM change instead of on the next
+ * 500 ms WebDriverWait poll, and costs one round-trip per slice instead of one per poll. Changes that
+ * produce no mutation (layout, CSS transitions) are caught by an in-page check with backoff from
+ * 25 to 400 ms. Long waits run in slices of at most 10 seconds to stay within the default 30 second
+ * script timeout; navigation during a slice simply starts the next one on the new document.
+ * Locators other than CSS/XPath, drivers without async script support and repeated script errors fall
+ * back to adaptive polling from the Java side.
+ */
+public class MutationWait {
+
+    private static final long MAX_SLICE_MILLIS = 10_000;
+    private static final long MIN_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final int MAX_CONSECUTIVE_ERRORS = 3;
+
+    private static final String SCRIPT = ElementCache.domVersionScript(ElementQuery.VISIBLE_FUNCTION
+            + " var using = arguments[0], value = arguments[1], given = arguments[2], kind = arguments[3];"
+            + " var arg1 = arguments[4], arg2 = arguments[5], timeoutMs = arguments[6], done = arguments[arguments.length - 1];"
+            + " var find = function () {"
+            + "   if (given) { return given; }"
+            + "   if (using === 'xpath') {"
+            + "     var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), found = [];"
+            + "     for (var i = 0; i < snapshot.snapshotLength; i++) {"
+            + "       if (snapshot.snapshotItem(i) instanceof Element) { found.push(snapshot.snapshotItem(i)); }"
+            + "     }"
+            + "     return found;"
+            + "   }"
+            + "   return document.querySelectorAll(value);"
+            + " };"
+            + " var check = function () {"
+            + "   var els = find(), el = els.length > 0 ? els[0] : null, ok;"
+            + "   switch (kind) {"
+            + "     case 'present': ok = !!el; break;"
+            + "     case 'visible': ok = !!el && isVisible(el); break;"
+            + "     case 'clickable': ok = !!el && isVisible(el) && !el.disabled; break;"
+            + "     case 'invisible': ok = !el || !isVisible(el); break;"
+            + "     case 'text': ok = !!el && (el.innerText || el.textContent || '').indexOf(arg1) >= 0; break;"
+            + "     case 'count': ok = els.length >= arg1; break;"
+            + "     case 'attribute': ok = !!el && el.getAttribute(arg1) === arg2; break;"
+            + "     case 'attributeChange': ok = !!el && el.getAttribute(arg1) !== arg2; break;"
+            + "     default: throw new Error('Unknown wait condition ' + kind);"
+            + "   }"
+            + "   return ok ? [true, el, domVersion()] : null;"
+            + " };"
+            + " var result = check();"
+            + " if (result || timeoutMs <= 0) { done(result || [false, null, null]); return; }"
+            + " var finished = false, pending = false, poll = 25, pollTimer, timer;"
+            + " var finish = function (r) {"
+            + "   if (finished) { return; }"
+            + "   finished = true; observer.disconnect(); clearTimeout(pollTimer); clearTimeout(timer); done(r);"
+            + " };"
+            + " var observer = new MutationObserver(function () {"
+            + "   if (pending) { return; }"
+            + "   pending = true;"
+            + "   setTimeout(function () { pending = false; var r = check(); if (r) { finish(r); } }, 0);"
+            + " });"
+            + " observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + " var schedulePoll = function () {"
+            + "   pollTimer = setTimeout(function () {"
+            + "     var r = check(); if (r) { finish(r); return; }"
+            + "     poll = Math.min(poll * 2, 400); schedulePoll();"
+            + "   }, poll);"
+            + " };"
+            + " schedulePoll();"
+            + " timer = setTimeout(function () { finish([false, null, null]); }, timeoutMs);");
+
+    private MutationWait() {}
+
+    /**
+     * A condition on the elements matching a locator. The element returned by a wait is the first match.
+     */
+    public static final class Condition {
+        private final String kind;
+        private final Object arg1;
+        private final Object arg2;
+        private final String description;
+
+        private Condition(String kind, Object arg1, Object arg2, String description) {
+            this.kind = kind;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.description = description;
+        }
+
+        public static Condition present() {
+            return new Condition("present", null, null, "present");
+        }
+
+        public static Condition visible() {
+            return new Condition("visible", null, null, "visible");
+        }
+
+        /**
+         * Visible and not disabled
+         */
+        public static Condition clickable() {
+            return new Condition("clickable", null, null, "clickable");
+        }
+
+        /**
+         * Absent or hidden
+         */
+        public static Condition invisible() {
+            return new Condition("invisible", null, null, "invisible");
+        }
+
+        public static Condition textContains(String text) {
+            return new Condition("text", text, null, "text containing '" + text + "'");
+        }
+
+        public static Condition countAtLeast(int count) {
+            return new Condition("count", count, null, "at least " + count + " matches");
+        }
+
+        public static Condition attributeEquals(String name, String value) {
+            return new Condition("attribute", name, value, "attribute " + name + "='" + value + "'");
+        }
+
+        /**
+         * The attribute differs from its value when the wait starts (absent counts as a value)
+         */
+        public static Condition attributeChanges(String name) {
+            return new Condition("attributeChange", name, null, "attribute " + name + " changed");
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Waits until the condition holds for the locator and returns the first matching element (null for
+     * invisible or when nothing matches). Throws TimeoutException when the timeout passes first.
+     */
+    public static WebElement until(WebDriver driver, By locator, Condition condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        RunMetrics.increment("mutation.wait.calls");
+        if ("attributeChange".equals(condition.kind)) {
+            condition = withBaseline(driver, locator, condition);
+        }
+
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+        String using = parameters == null ? null : parameters.using();
+        boolean observable = driver instanceof JavascriptExecutor && ("css selector".equals(using) || "xpath".equals(using));
+        int errors = 0;
+        while (observable) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                List<?> result = run(driver, using, String.valueOf(parameters.value()), null, condition,
+                        Math.max(0, Math.min(remaining, MAX_SLICE_MILLIS)));
+                errors = 0;
+                if (Boolean.TRUE.equals(result.get(0))) {
+                    return satisfied(driver, locator, result, start);
+                }
+            } catch (ScriptTimeoutException e) {
+                LogUtil.warn("Script timeout is shorter than the wait slice, polling instead: " + e.getMessage());
+                observable = false;
+            } catch (NoSuchWindowException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Usually the document was replaced by a navigation during the slice; the next slice observes the new one
+                if (++errors >= MAX_CONSECUTIVE_ERRORS) {
+                    LogUtil.warn("Event-driven wait for " + locator + " keeps failing, polling instead: " + e.getMessage());
+                    observable = false;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+        }
+        if (!observable) {
+            RunMetrics.increment("mutation.wait.fallbacks");
+            WebElement element = poll(driver, locator, condition, deadline, start);
+            if (element != null || System.currentTimeMillis() < deadline) {
+                return element;
+            }
+        }
+        RunMetrics.increment("mutation.wait.timeouts");
+        throw new TimeoutException("Expected " + locator + " to be " + condition + " within " + timeout.toMillis() + " ms");
+    }
+
+    /**
+     * Adaptive polling from the Java side, 50 ms doubling to 500 ms. Returns the element once the condition
+     * holds, or null with the deadline passed.
+     */
+    private static WebElement poll(WebDriver driver, By locator, Condition condition, long deadline, long start) {
+        List<?> result = Waiter.of("mutation.poll")
+                .timeout(Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis())))
+                .backoff(Duration.ofMillis(MIN_POLL_MILLIS), Duration.ofMillis(MAX_POLL_MILLIS))
+                .untilOrNull(() -> {
+                    try {
+                        List<?> checked = run(driver, null, null, driver.findElements(locator), condition, 0);
+                        return Boolean.TRUE.equals(checked.get(0)) ? checked : null;
+                    } catch (NoSuchWindowException e) {
+                        throw e;
+                    } catch (WebDriverException e) {
+                        // Stale matches or a navigation in progress; check again on the next poll
+                        return null;
+                    }
+                });
+        return result == null ? null : satisfied(driver, locator, result, start);
+    }
+
+    private static List<?> run(WebDriver driver, String using, String value, List<WebElement> elements, Condition condition,
+                               long timeoutMillis) {
+        return (List<?>) ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, using, value, elements,
+                condition.kind, condition.arg1, condition.arg2, timeoutMillis);
+    }
+
+    private static WebElement satisfied(WebDriver driver, By locator, List<?> result, long start) {
+        WebElement element = result.get(1) instanceof WebElement ? (WebElement) result.get(1) : null;
+        if (result.get(2) != null) {
+            ElementCache.remember(driver, locator, element, String.valueOf(result.get(2)));
+        }
+        RunMetrics.addScenarioTime("mutation.wait", System.nanoTime() - start);
+        return element;
+    }
+
+    private static Condition withBaseline(WebDriver driver, By locator, Condition condition) {
+        String name = String.valueOf(condition.arg1);
+        List<ElementQuery.Result> current = driver instanceof JavascriptExecutor
+                ? ElementQuery.query(driver, locator, Collections.emptySet(), name)
+                : Collections.emptyList();
+        String baseline = current.isEmpty() ? null : current.get(0).getAttribute(name);
+        return new Condition(condition.kind, name, baseline, condition.description + " from '" + baseline + "'");
+    }
+}
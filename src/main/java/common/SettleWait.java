@@ -0,0 +1,158 @@
+package common;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import config.ConfigReader;
+import utils.ExtentManager;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Waits for a page to settle after an action: no XHR/fetch request in flight, no DOM mutation, no newly
+ * finished resource and no pending navigation for a quiet window (settle.quiet.ms). Requests are tracked
+ * by wrapping XMLHttpRequest and fetch in the page, which works in every browser; call {@link #track}
+ * before the action so requests it starts are seen. Requests started before the tracker was installed
+ * still show up through the resource timing entries they add when they finish. A navigation during the
+ * wait restarts it on the new document; one that never commits (e.g. a download) is ignored after 10 s.
+ * Each settle is logged per step and summarised per scenario.
+ */
+public class SettleWait {
+
+    private static final long MAX_SLICE_MILLIS = 10_000;
+    private static final int MAX_CONSECUTIVE_ERRORS = 3;
+
+    private static final String TRACKER = "var t = window.__settleTracker;"
+            + " if (!t) {"
+            + "   t = window.__settleTracker = { inflight: 0, requests: 0, last: Date.now(), unloading: 0, resources: 0 };"
+            + "   var touch = function () { t.last = Date.now(); };"
+            + "   var begin = function () {"
+            + "     var ended = false; t.inflight++; t.requests++; touch();"
+            + "     return function () { if (!ended) { ended = true; t.inflight--; touch(); } };"
+            + "   };"
+            + "   var send = XMLHttpRequest.prototype.send;"
+            + "   XMLHttpRequest.prototype.send = function () {"
+            + "     var end = begin(); this.addEventListener('loadend', end);"
+            + "     try { return send.apply(this, arguments); } catch (e) { end(); throw e; }"
+            + "   };"
+            + "   if (window.fetch) {"
+            + "     var fetch = window.fetch;"
+            + "     window.fetch = function () {"
+            + "       var end = begin(), request;"
+            + "       try { request = fetch.apply(this, arguments); } catch (e) { end(); throw e; }"
+            + "       request.then(end, end);"
+            + "       return request;"
+            + "     };"
+            + "   }"
+            + "   window.addEventListener('beforeunload', function () { t.unloading = Date.now(); touch(); });"
+            + "   new MutationObserver(touch).observe(document, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "   t.resources = performance.getEntriesByType ? performance.getEntriesByType('resource').length : 0;"
+            + " }";
+
+    private static final String TRACK_SCRIPT = TRACKER + " return t.requests;";
+
+    private static final String SETTLE_SCRIPT = TRACKER
+            + " var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+            + " var start = Date.now(), requests = t.requests;"
+            + " var check = function () {"
+            + "   var now = Date.now();"
+            + "   var resources = performance.getEntriesByType ? performance.getEntriesByType('resource').length : 0;"
+            + "   if (resources !== t.resources) { t.resources = resources; t.last = now; }"
+            + "   var unloading = t.unloading && now - t.unloading < 10000;"
+            + "   if (!unloading && document.readyState !== 'loading' && t.inflight <= 0 && now - t.last >= quietMs) {"
+            + "     done([true, t.requests - requests, location.pathname]); return;"
+            + "   }"
+            + "   if (now - start >= timeoutMs) { done([false, t.inflight]); return; }"
+            + "   setTimeout(check, Math.max(25, Math.min(100, quietMs - (now - t.last))));"
+            + " };"
+            + " check();";
+
+    private static final ThreadLocal<List<String>> scenarioSteps = ThreadLocal.withInitial(ArrayList::new);
+
+    private SettleWait() {}
+
+    /**
+     * Installs the request tracker in the current document. Call right before an action whose
+     * requests the next settle should wait for.
+     */
+    public static void track(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(TRACK_SCRIPT);
+        } catch (WebDriverException e) {
+            LogUtil.warn("Could not install request tracker, settle will rely on DOM and resource timing: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the page has been quiet for the configured window and returns the elapsed milliseconds.
+     * Throws TimeoutException if it keeps changing for longer than the timeout.
+     */
+    public static long settle(WebDriver driver, String step, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        int quietMillis = Math.max(0, ConfigReader.getSettleQuietMillis());
+        long requests = 0;
+        int errors = 0;
+        RunMetrics.increment("settle.calls");
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                List<?> result = (List<?>) ((JavascriptExecutor) driver).executeAsyncScript(SETTLE_SCRIPT, quietMillis,
+                        Math.max(0, Math.min(remaining, MAX_SLICE_MILLIS)));
+                errors = 0;
+                if (Boolean.TRUE.equals(result.get(0))) {
+                    requests += ((Number) result.get(1)).longValue();
+                    LocatorProfiler.pageSeen(driver, (String) result.get(2));
+                    break;
+                }
+            } catch (NoSuchWindowException | ScriptTimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // The document was replaced by a navigation; settle again on the new one
+                if (++errors >= MAX_CONSECUTIVE_ERRORS) {
+                    throw e;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                RunMetrics.increment("settle.timeouts");
+                report(step, start, requests, false);
+                throw new TimeoutException("Page did not settle within " + timeout.getSeconds() + " seconds after: " + step);
+            }
+        }
+        return report(step, start, requests, true);
+    }
+
+    /**
+     * Clears the current thread's per-step settle times. Called when a scenario starts.
+     */
+    public static void startScenario() {
+        scenarioSteps.get().clear();
+    }
+
+    /**
+     * Returns a one-line summary of the settle time of each step in the current scenario, or null if nothing settled
+     */
+    public static String getScenarioSummary() {
+        List<String> steps = scenarioSteps.get();
+        return steps.isEmpty() ? null : "Page settle times: " + String.join(", ", steps);
+    }
+
+    private static long report(String step, long start, long requests, boolean settled) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        String message = (settled ? "Page settled" : "Page still busy") + " after '" + step + "' in " + elapsedMillis + " ms ("
+                + requests + " requests)";
+        LogUtil.info(message);
+        ExtentManager.info(message);
+        scenarioSteps.get().add(step + "=" + elapsedMillis + " ms" + (settled ? "" : " (timeout)"));
+        RunMetrics.add("settle.requests", requests);
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,102 @@
+package common;
+
+import config.ConfigReader;
+import config.ConfigSnapshot;
+import utils.RunMetrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Central timeout policy for element and navigation waits.
+ * The driver runs with a zero implicit wait so that checks for absent elements return immediately;
+ * every wait instead uses an explicit per-operation budget from config.properties, which callers can
+ * override per call. Time spent in each kind of wait is recorded per scenario via RunMetrics.
+ */
+public class TimeoutPolicy {
+
+    /**
+     * Kinds of waits with their own budget
+     */
+    public enum Operation {
+        PRESENCE_PROBE("wait.probe"),
+        VISIBILITY("wait.visibility"),
+        CLICKABILITY("wait.clickability"),
+        INVISIBILITY("wait.invisibility"),
+        DOM_CONDITION("wait.dom"),
+        SETTLE("wait.settle"),
+        NAVIGATION("wait.navigation");
+
+        private final String metricName;
+
+        Operation(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private TimeoutPolicy() {}
+
+    /**
+     * Implicit wait applied to new drivers. Zero unless implicit.wait is explicitly configured.
+     */
+    public static Duration implicitWait() {
+        return ConfigReader.snapshot().getImplicitWaitDuration();
+    }
+
+    /**
+     * Default budget for the given operation
+     */
+    public static Duration budget(Operation operation) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        switch (operation) {
+            case PRESENCE_PROBE:
+                return config.getProbeTimeoutDuration();
+            case VISIBILITY:
+                return config.getVisibilityTimeoutDuration();
+            case CLICKABILITY:
+                return config.getClickableTimeoutDuration();
+            case INVISIBILITY:
+            case DOM_CONDITION:
+                return config.getExplicitWaitDuration();
+            case NAVIGATION:
+                return config.getNavigationTimeoutDuration();
+            case SETTLE:
+                return config.getSettleTimeoutDuration();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    /**
+     * Runs a wait and records its elapsed time against the operation, whether it succeeds or times out
+     */
+    public static <T> T timed(Operation operation, Supplier<T> wait) {
+        long start = System.nanoTime();
+        try {
+            return wait.get();
+        } finally {
+            RunMetrics.addScenarioTime(operation.getMetricName(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the time the current scenario spent waiting, per operation
+     */
+    public static String getScenarioSummary() {
+        StringBuilder summary = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : RunMetrics.getScenarioTimesMillis().entrySet()) {
+            if (entry.getKey().startsWith("wait.")) {
+                summary.append(summary.length() == 0 ? "" : ", ")
+                        .append(entry.getKey().substring("wait.".length())).append('=').append(entry.getValue()).append(" ms");
+                total += entry.getValue();
+            }
+        }
+        return "Time spent waiting: " + total + " ms" + (summary.length() == 0 ? "" : " (" + summary + ")");
+    }
+}
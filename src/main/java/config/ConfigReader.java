@@ -1,45 +1,200 @@
 package config;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import org.openqa.selenium.PageLoadStrategy;
 import utils.LogUtil;
 
+/**
+ * Static access to the framework configuration.
+ * Values are merged once into an immutable {@link ConfigSnapshot}, lowest precedence first:
+ *   config.properties (classpath) &lt; config-&lt;environment&gt;.properties (classpath, optional)
+ *   &lt; environment variables (explicit.wait -&gt; EXPLICIT_WAIT, known keys only) &lt; system properties.
+ * With config.reload.enabled=true, edits to the property files on disk are picked up at runtime
+ * for the reloadable keys only; structural keys (browser, pool, threads, ...) need a restart.
+ */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/main/resources/config.properties";
-    
+    private static final String CONFIG_FILE = "config.properties";
+    private static final List<String> RELOADABLE_PREFIXES = Arrays.asList(
+            "implicit.wait", "explicit.wait", "page.load.timeout", "timeout.", "request.blocking.",
+            "screenshot.", "driver.recycle.", "session.state.ttl.minutes", "email.");
+    private static volatile ConfigSnapshot snapshot;
+    private static Set<String> fileKeys;
+    private static Thread watcher;
+
     static {
-        loadProperties();
+        Set<String> keys = new TreeSet<>();
+        snapshot = load(keys);
+        fileKeys = keys;
     }
-    
-    private static void loadProperties() {
+
+    /**
+     * Merges all layers into a snapshot and adds the keys defined in the property files to fileKeys
+     */
+    private static ConfigSnapshot load(Set<String> fileKeys) {
         try {
-            properties = new Properties();
-            FileInputStream fileInputStream = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fileInputStream);
-            fileInputStream.close();
+            Map<String, String> values = new HashMap<>();
+            if (!mergeResource(values, CONFIG_FILE)) {
+                throw new IOException(CONFIG_FILE + " not found on the classpath");
+            }
+            String environment = firstNonNull(System.getProperty("environment"), System.getenv("ENVIRONMENT"), values.get("environment"));
+            if (environment != null && mergeResource(values, "config-" + environment.trim() + ".properties")) {
+                LogUtil.info("Applied configuration profile: config-" + environment.trim() + ".properties");
+            }
+            fileKeys.addAll(values.keySet());
+            for (String key : new TreeSet<>(values.keySet())) {
+                String fromEnv = System.getenv(key.toUpperCase().replace('.', '_'));
+                if (fromEnv != null) {
+                    values.put(key, fromEnv);
+                }
+            }
+            System.getProperties().stringPropertyNames().forEach(key -> values.put(key, System.getProperty(key)));
+            ConfigSnapshot loaded = new ConfigSnapshot(values);
             LogUtil.info("Configuration properties loaded successfully");
+            return loaded;
         } catch (IOException e) {
             LogUtil.error("Failed to load configuration properties: " + e.getMessage());
             throw new RuntimeException("Configuration file not found or cannot be read", e);
         }
     }
-    
+
+    private static boolean mergeResource(Map<String, String> values, String name) throws IOException {
+        try (InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                return false;
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+            return true;
+        }
+    }
+
+    private static String firstNonNull(String... values) {
+        return Arrays.stream(values).filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the current immutable configuration snapshot
+     */
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Starts a daemon thread that reloads reloadable keys when a property file on disk changes.
+     * Does nothing unless config.reload.enabled=true or when the config is not loaded from a directory.
+     */
+    public static synchronized void startWatching() {
+        if (watcher != null || !Boolean.parseBoolean(getProperty("config.reload.enabled", "false"))) {
+            return;
+        }
+        URL resource = ConfigReader.class.getClassLoader().getResource(CONFIG_FILE);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            LogUtil.warn("Configuration reload needs " + CONFIG_FILE + " in a directory, not " + resource);
+            return;
+        }
+        try {
+            Path directory = Paths.get(resource.toURI()).getParent();
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            watcher = new Thread(() -> watch(watchService), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            LogUtil.info("Watching " + directory + " for configuration changes");
+        } catch (Exception e) {
+            LogUtil.warn("Could not start configuration watcher: " + e.getMessage());
+        }
+    }
+
+    private static void watch(WatchService watchService) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                WatchKey key = watchService.take();
+                boolean configChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    String file = String.valueOf(event.context());
+                    configChanged |= file.startsWith("config") && file.endsWith(".properties");
+                }
+                key.reset();
+                if (configChanged) {
+                    reload();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Re-reads all layers and applies changes to reloadable keys. Structural changes are logged and ignored.
+     * Only keys defined in the property files are compared, so system properties the framework or libraries
+     * set at runtime (e.g. webdriver.chrome.driver) are not reported as changes.
+     */
+    static synchronized void reload() {
+        ConfigSnapshot current = snapshot;
+        ConfigSnapshot reloaded;
+        Set<String> reloadedFileKeys = new TreeSet<>();
+        try {
+            reloaded = load(reloadedFileKeys);
+        } catch (RuntimeException e) {
+            LogUtil.warn("Ignoring configuration change: " + e.getMessage());
+            return;
+        }
+        Map<String, String> merged = new HashMap<>(current.asMap());
+        TreeSet<String> keys = new TreeSet<>(fileKeys);
+        keys.addAll(reloadedFileKeys);
+        fileKeys = reloadedFileKeys;
+        for (String key : keys) {
+            String oldValue = merged.get(key);
+            String newValue = reloaded.asMap().get(key);
+            if (Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+            if (RELOADABLE_PREFIXES.stream().anyMatch(key::startsWith)) {
+                if (newValue == null) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, newValue);
+                }
+                LogUtil.info("Configuration reloaded: " + key + "=" + newValue);
+            } else {
+                LogUtil.warn("Configuration change to '" + key + "' needs a restart and was ignored");
+            }
+        }
+        try {
+            snapshot = new ConfigSnapshot(merged);
+        } catch (IllegalStateException e) {
+            LogUtil.warn("Ignoring configuration change: " + e.getMessage());
+        }
+    }
+
     public static String getProperty(String key) {
         return getProperty(key, null);
     }
-    
+
     public static String getProperty(String key, String defaultValue) {
-        String value = System.getProperty(key);
-        if (value == null) {
-            value = properties.getProperty(key, defaultValue);
-        }
-        return value;
+        return snapshot.get(key, defaultValue);
     }
-    
+
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.getBrowser();
     }
     
     public static String getUrl() {
@@ -51,19 +206,48 @@ public class ConfigReader {
     }
     
     public static boolean getHeadlessMode() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
+        return snapshot.isHeadless();
     }
     
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return snapshot.getImplicitWait();
     }
     
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "20"));
+        return snapshot.getExplicitWait();
     }
     
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(getProperty("page.load.timeout", "30"));
+        return snapshot.getPageLoadTimeout();
+    }
+
+    // Timeout Policy Methods
+    public static int getProbeTimeoutMillis() {
+        return snapshot.getProbeTimeoutMillis();
+    }
+
+    public static int getVisibilityTimeout() {
+        return snapshot.getVisibilityTimeout();
+    }
+
+    public static int getClickableTimeout() {
+        return snapshot.getClickableTimeout();
+    }
+
+    public static int getNavigationTimeout() {
+        return snapshot.getNavigationTimeout();
+    }
+
+    public static int getSettleTimeout() {
+        return snapshot.getSettleTimeout();
+    }
+
+    public static int getSettleQuietMillis() {
+        return snapshot.getSettleQuietMillis();
+    }
+
+    public static PageLoadStrategy getPageLoadStrategy() {
+        return snapshot.getPageLoadStrategy();
     }
     
     public static String getScreenshotPath() {
@@ -91,13 +275,127 @@ public class ConfigReader {
     }
     
     public static int getThreadCount() {
-        return Integer.parseInt(getProperty("thread.count", "1"));
+        return snapshot.getThreadCount();
     }
     
     public static boolean getParallelExecution() {
         return Boolean.parseBoolean(getProperty("parallel.execution", "false"));
     }
 
+    // Driver Pool Configuration Methods
+    public static boolean isDriverPoolEnabled() {
+        return snapshot.isDriverPoolEnabled();
+    }
+
+    public static boolean isDriverPrewarmEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.prewarm.enabled", "false"));
+    }
+
+    public static int getDriverPoolLeaseTimeout() {
+        return Integer.parseInt(getProperty("driver.pool.lease.timeout", "300"));
+    }
+
+    public static boolean isDriverContextModeEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.context.mode", "false"));
+    }
+
+    public static int getDriverContextsPerBrowser() {
+        return Integer.parseInt(getProperty("driver.contexts.per.browser", "4"));
+    }
+
+    public static int getDriverRecycleMaxScenarios() {
+        return Integer.parseInt(getProperty("driver.recycle.max.scenarios", "0"));
+    }
+
+    public static int getDriverRecycleMaxRssMb() {
+        return Integer.parseInt(getProperty("driver.recycle.max.rss.mb", "0"));
+    }
+
+    public static int getDriverRecycleMaxAgeMinutes() {
+        return Integer.parseInt(getProperty("driver.recycle.max.age.minutes", "0"));
+    }
+
+    public static boolean isRequestBlockingEnabled() {
+        return snapshot.isRequestBlockingEnabled();
+    }
+
+    public static boolean isElementCacheEnabled() {
+        return snapshot.isElementCacheEnabled();
+    }
+
+    public static boolean isLocatorProfilerEnabled() {
+        return snapshot.isLocatorProfilerEnabled();
+    }
+
+    public static int getLocatorProfilerReportSize() {
+        return Integer.parseInt(getProperty("locator.profiler.report.size", "10"));
+    }
+
+    public static String getLocatorConstantsPackage() {
+        return getProperty("locator.profiler.constants.package", "xpath");
+    }
+
+    // Driver Binary Resolution Methods
+    public static boolean isDriverBinaryOffline() {
+        return Boolean.parseBoolean(getProperty("driver.binary.offline", "false"));
+    }
+
+    public static String getDriverBinaryCacheDir() {
+        return getProperty("driver.binary.cache.dir", System.getProperty("user.home") + "/.cache/selenium-framework/drivers");
+    }
+
+    // Chrome Profile Template Methods
+    public static boolean isChromeProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("chrome.profile.template.enabled", "false"));
+    }
+
+    public static String getChromeProfileTemplateDir() {
+        return getProperty("chrome.profile.template.dir", "output/profiles");
+    }
+
+    public static String getChromeProfileTemplateWarmupUrl() {
+        return getProperty("chrome.profile.template.warmup.url", getProperty("url", ""));
+    }
+
+    public static String getChromeProfileTemplateDismissXpath() {
+        return getProperty("chrome.profile.template.dismiss.xpath", "").trim();
+    }
+
+    // Session State Cache Methods
+    public static String getSessionStateDir() {
+        return getProperty("session.state.dir", "output/session-state");
+    }
+
+    public static int getSessionStateTtlMinutes() {
+        return Integer.parseInt(getProperty("session.state.ttl.minutes", "60"));
+    }
+
+    // Remote Execution Methods
+    public static String getGridStatusUrl() {
+        String statusUrl = getProperty("grid.status.url");
+        if (statusUrl != null && !statusUrl.trim().isEmpty()) {
+            return statusUrl.trim();
+        }
+        String hubUrl = getProperty("grid.url", "http://localhost:4444/wd/hub");
+        return hubUrl.replaceAll("/+$", "").replaceAll("/wd/hub$", "") + "/status";
+    }
+
+    public static int getRemoteConnectTimeout() {
+        return Integer.parseInt(getProperty("remote.http.connect.timeout", "10"));
+    }
+
+    public static int getRemoteReadTimeout() {
+        return Integer.parseInt(getProperty("remote.http.read.timeout", "180"));
+    }
+
+    public static String getRemoteHttpVersion() {
+        return getProperty("remote.http.version", "").trim();
+    }
+
+    public static int getRemoteSlotWaitTimeout() {
+        return Integer.parseInt(getProperty("remote.slot.wait.timeout", "600"));
+    }
+
     // Email Configuration Methods
     public static boolean isEmailEnabled() {
         return Boolean.parseBoolean(getProperty("email.enabled", "false"));
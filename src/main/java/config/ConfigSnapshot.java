@@ -0,0 +1,227 @@
+package config;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the merged configuration at one point in time.
+ * Values frequently read on hot paths (browser, timeouts, page load strategy, ...) are parsed and
+ * validated once when the snapshot is built, so getters neither parse nor allocate. All other keys
+ * are available as strings through {@link #get(String, String)}.
+ */
+public final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+
+    private final String browser;
+    private final boolean headless;
+    private final int threadCount;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    private final int probeTimeoutMillis;
+    private final int visibilityTimeout;
+    private final int clickableTimeout;
+    private final int navigationTimeout;
+    private final int settleTimeout;
+    private final int settleQuietMillis;
+    private final Duration implicitWaitDuration;
+    private final Duration explicitWaitDuration;
+    private final Duration probeTimeoutDuration;
+    private final Duration visibilityTimeoutDuration;
+    private final Duration clickableTimeoutDuration;
+    private final Duration navigationTimeoutDuration;
+    private final Duration settleTimeoutDuration;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean driverPoolEnabled;
+    private final boolean requestBlockingEnabled;
+    private final boolean elementCacheEnabled;
+    private final boolean locatorProfilerEnabled;
+
+    /**
+     * Builds and validates a snapshot. Throws IllegalStateException listing every invalid value.
+     */
+    ConfigSnapshot(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        List<String> errors = new ArrayList<>();
+
+        browser = get("browser", "chrome").toLowerCase().trim();
+        headless = parseBoolean("headless", "false");
+        threadCount = parseInt("thread.count", "1", 1, errors);
+        implicitWait = parseInt("implicit.wait", "0", 0, errors);
+        explicitWait = parseInt("explicit.wait", "20", 0, errors);
+        pageLoadTimeout = parseInt("page.load.timeout", "30", 0, errors);
+        probeTimeoutMillis = parseInt("timeout.probe.ms", "0", 0, errors);
+        visibilityTimeout = parseInt("timeout.visibility", String.valueOf(explicitWait), 0, errors);
+        clickableTimeout = parseInt("timeout.clickable", String.valueOf(explicitWait), 0, errors);
+        navigationTimeout = parseInt("timeout.navigation", String.valueOf(pageLoadTimeout), 0, errors);
+        settleTimeout = parseInt("timeout.settle", String.valueOf(explicitWait), 0, errors);
+        settleQuietMillis = parseInt("settle.quiet.ms", "500", 0, errors);
+        pageLoadStrategy = parsePageLoadStrategy(errors);
+        driverPoolEnabled = parseBoolean("driver.pool.enabled", "false");
+        requestBlockingEnabled = parseBoolean("request.blocking.enabled", "false");
+        elementCacheEnabled = parseBoolean("element.cache.enabled", "true");
+        locatorProfilerEnabled = parseBoolean("locator.profiler.enabled", "true");
+
+        for (String key : new String[]{"driver.pool.lease.timeout", "driver.recycle.max.scenarios", "driver.recycle.max.rss.mb",
+                "driver.recycle.max.age.minutes", "driver.contexts.per.browser", "remote.http.connect.timeout",
+                "remote.http.read.timeout", "remote.slot.wait.timeout", "session.state.ttl.minutes", "locator.profiler.report.size"}) {
+            if (values.containsKey(key)) {
+                parseInt(key, "0", 0, errors);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration: " + String.join("; ", errors));
+        }
+
+        implicitWaitDuration = Duration.ofSeconds(implicitWait);
+        explicitWaitDuration = Duration.ofSeconds(explicitWait);
+        probeTimeoutDuration = Duration.ofMillis(probeTimeoutMillis);
+        visibilityTimeoutDuration = Duration.ofSeconds(visibilityTimeout);
+        clickableTimeoutDuration = Duration.ofSeconds(clickableTimeout);
+        navigationTimeoutDuration = Duration.ofSeconds(navigationTimeout);
+        settleTimeoutDuration = Duration.ofSeconds(settleTimeout);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public int getProbeTimeoutMillis() {
+        return probeTimeoutMillis;
+    }
+
+    public int getVisibilityTimeout() {
+        return visibilityTimeout;
+    }
+
+    public int getClickableTimeout() {
+        return clickableTimeout;
+    }
+
+    public int getNavigationTimeout() {
+        return navigationTimeout;
+    }
+
+    public int getSettleTimeout() {
+        return settleTimeout;
+    }
+
+    public int getSettleQuietMillis() {
+        return settleQuietMillis;
+    }
+
+    public Duration getImplicitWaitDuration() {
+        return implicitWaitDuration;
+    }
+
+    public Duration getExplicitWaitDuration() {
+        return explicitWaitDuration;
+    }
+
+    public Duration getProbeTimeoutDuration() {
+        return probeTimeoutDuration;
+    }
+
+    public Duration getVisibilityTimeoutDuration() {
+        return visibilityTimeoutDuration;
+    }
+
+    public Duration getClickableTimeoutDuration() {
+        return clickableTimeoutDuration;
+    }
+
+    public Duration getNavigationTimeoutDuration() {
+        return navigationTimeoutDuration;
+    }
+
+    public Duration getSettleTimeoutDuration() {
+        return settleTimeoutDuration;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public boolean isDriverPoolEnabled() {
+        return driverPoolEnabled;
+    }
+
+    public boolean isRequestBlockingEnabled() {
+        return requestBlockingEnabled;
+    }
+
+    public boolean isElementCacheEnabled() {
+        return elementCacheEnabled;
+    }
+
+    public boolean isLocatorProfilerEnabled() {
+        return locatorProfilerEnabled;
+    }
+
+    private boolean parseBoolean(String key, String defaultValue) {
+        return Boolean.parseBoolean(get(key, defaultValue).trim());
+    }
+
+    private int parseInt(String key, String defaultValue, int min, List<String> errors) {
+        String value = get(key, defaultValue).trim();
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min) {
+                errors.add(key + "=" + value + " must be at least " + min);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + "=" + value + " is not a number");
+            return min;
+        }
+    }
+
+    private PageLoadStrategy parsePageLoadStrategy(List<String> errors) {
+        String strategy = get("page.load.strategy", "normal").trim().toLowerCase();
+        switch (strategy) {
+            case "normal":
+            case "eager":
+            case "none":
+                return PageLoadStrategy.fromString(strategy);
+            default:
+                errors.add("page.load.strategy=" + strategy + " must be normal, eager or none");
+                return PageLoadStrategy.NORMAL;
+        }
+    }
+}
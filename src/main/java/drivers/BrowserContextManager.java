@@ -0,0 +1,173 @@
+package drivers;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs several scenario drivers inside one Chrome process ("context mode").
+ * Each host is a regular ChromeDriver-launched Chrome. Scenario drivers attach to a host's
+ * DevTools endpoint through their own chromedriver and work in a dedicated incognito browser
+ * context created with Target.createBrowserContext. A host serves up to
+ * driver.contexts.per.browser contexts; further drivers start a new host.
+ */
+public class BrowserContextManager {
+
+    private static final List<Host> hosts = new ArrayList<>();
+
+    private BrowserContextManager() {}
+
+    /**
+     * A shared Chrome process, its profile and download directories and the number of contexts currently attached to it
+     */
+    static class Host {
+        private final ChromeDriver driver;
+        private final DriverSession session;
+        private final String debuggerAddress;
+        private int contexts;
+
+        Host(ChromeDriver driver, DriverSession session, String debuggerAddress) {
+            this.driver = driver;
+            this.session = session;
+            this.debuggerAddress = debuggerAddress;
+        }
+
+        String getDebuggerAddress() {
+            return debuggerAddress;
+        }
+
+        Map<String, Object> executeCdpCommand(String command, Map<String, Object> parameters) {
+            return driver.executeCdpCommand(command, parameters);
+        }
+    }
+
+    /**
+     * Creates a driver in a new browser context on a host with spare capacity.
+     * The host launcher is only called when every existing host is full; it records the host's profile
+     * copy and download directory on the session it is given so they can be removed in shutdown().
+     */
+    static ChromeDriver createContextDriver(DriverSession session, String downloadDirectory,
+                                            Function<DriverSession, ChromeDriver> hostLauncher) {
+        Host host = reserveHost(hostLauncher);
+        DriverStartupProfiler.mark("context.host");
+        ContextChromeDriver driver;
+        try {
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", host.getDebuggerAddress());
+            options.setPageLoadStrategy(ConfigReader.getPageLoadStrategy());
+
+            ChromeDriverService service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+            session.setServicePort(service.getUrl().getPort());
+            driver = new ContextChromeDriver(service, options, host);
+            DriverStartupProfiler.mark("session.handshake");
+        } catch (RuntimeException e) {
+            releaseHost(host);
+            throw e;
+        }
+        try {
+            driver.openContext(downloadDirectory);
+            DriverStartupProfiler.mark("context.open");
+        } catch (RuntimeException e) {
+            // quit() also gives the reserved slot back to the host
+            driver.quit();
+            throw e;
+        }
+        session.setDownloadDirectory(downloadDirectory);
+        RunMetrics.increment("driver.context.created");
+        LogUtil.info("Opened browser context " + driver.getBrowserContextId() + " on Chrome at " + host.getDebuggerAddress());
+        return driver;
+    }
+
+    static void releaseHost(Host host) {
+        synchronized (hosts) {
+            host.contexts = Math.max(0, host.contexts - 1);
+        }
+    }
+
+    /**
+     * Quits every host Chrome process and removes its profile copy and download directory.
+     * Called after all context drivers have been quit.
+     */
+    public static void shutdown() {
+        synchronized (hosts) {
+            for (Host host : hosts) {
+                try {
+                    host.driver.quit();
+                } catch (Exception e) {
+                    LogUtil.error("Error closing context host browser: " + e.getMessage());
+                } finally {
+                    deleteHostDirectories(host.session);
+                }
+            }
+            hosts.clear();
+        }
+    }
+
+    private static void deleteHostDirectories(DriverSession session) {
+        ChromeProfileTemplate.deleteCopy(session.getProfileDirectory());
+        String downloadDirectory = session.getDownloadDirectory();
+        if (downloadDirectory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(Paths.get(downloadDirectory))) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            LogUtil.warn("Failed to delete context host download directory " + downloadDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private static Host reserveHost(Function<DriverSession, ChromeDriver> hostLauncher) {
+        int capacity = Math.max(1, ConfigReader.getDriverContextsPerBrowser());
+        synchronized (hosts) {
+            for (Host host : hosts) {
+                if (host.contexts < capacity) {
+                    host.contexts++;
+                    return host;
+                }
+            }
+            // Launching under the lock keeps concurrent pre-warm threads from starting a host each
+            Host host = launchHost(hostLauncher);
+            host.contexts++;
+            hosts.add(host);
+            return host;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Host launchHost(Function<DriverSession, ChromeDriver> hostLauncher) {
+        long start = System.currentTimeMillis();
+        DriverSession session = new DriverSession("chrome");
+        ChromeDriver driver;
+        try {
+            driver = hostLauncher.apply(session);
+        } catch (RuntimeException e) {
+            deleteHostDirectories(session);
+            throw e;
+        }
+        Object chromeOptions = driver.getCapabilities().getCapability("goog:chromeOptions");
+        Object address = chromeOptions instanceof Map ? ((Map<String, Object>) chromeOptions).get("debuggerAddress") : null;
+        if (address == null) {
+            driver.quit();
+            deleteHostDirectories(session);
+            throw new RuntimeException("Chrome did not report a DevTools debugger address; context mode is unavailable");
+        }
+        RunMetrics.increment("driver.context.hosts");
+        LogUtil.info("Started context host Chrome at " + address + " in " + (System.currentTimeMillis() - start) + " ms");
+        return new Host(driver, session, String.valueOf(address));
+    }
+}
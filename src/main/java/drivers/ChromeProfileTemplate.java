@@ -0,0 +1,216 @@
+package drivers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds a warmed-up Chrome user-data-dir ("golden profile") once per run and hands each new
+ * Chrome driver its own copy, so sessions start past first-run setup, cookie consent and the
+ * "Continue shopping" interstitial. Copies use reflinks (copy-on-write) where the filesystem
+ * supports them and fall back to a regular copy. Hardlinks are not used because Chrome updates
+ * its SQLite databases in place, which would leak writes into the template and other sessions.
+ */
+public class ChromeProfileTemplate {
+
+    /** Entries Chrome recreates on demand or that tie a profile to a running process */
+    private static final Set<String> EXCLUDED = new HashSet<>(Arrays.asList(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile",
+            "Cache", "Code Cache", "GPUCache", "ShaderCache", "GrShaderCache", "DawnCache", "Crashpad"));
+
+    private static final AtomicInteger copyCounter = new AtomicInteger();
+    private static volatile Path template;
+    private static volatile boolean unavailable;
+
+    private ChromeProfileTemplate() {}
+
+    /**
+     * Returns a fresh copy of the golden profile for a new driver, building the template on first use.
+     * Returns null when the feature is disabled or the template could not be built, in which case the
+     * driver starts with Chrome's default temporary profile.
+     */
+    public static String newProfileCopy(Function<String, ChromeDriver> templateLauncher) {
+        if (!ConfigReader.isChromeProfileTemplateEnabled() || unavailable) {
+            return null;
+        }
+        Path source = ensureTemplate(templateLauncher);
+        if (source == null) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        Path copy = source.resolveSibling("session_" + System.currentTimeMillis() + "_thread_"
+                + Thread.currentThread().getId() + "_" + copyCounter.incrementAndGet());
+        try {
+            if (!reflinkCopy(source, copy)) {
+                deleteRecursively(copy);
+                plainCopy(source, copy);
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            RunMetrics.add("chrome.profile.copy.ms", elapsed);
+            LogUtil.info("Copied golden Chrome profile to " + copy + " in " + elapsed + " ms");
+            return copy.toString();
+        } catch (Exception e) {
+            LogUtil.warn("Failed to copy golden Chrome profile, starting with an empty profile: " + e.getMessage());
+            deleteRecursively(copy);
+            return null;
+        }
+    }
+
+    /**
+     * Removes a profile copy once its driver has quit
+     */
+    public static void deleteCopy(String profileDirectory) {
+        if (profileDirectory != null) {
+            deleteRecursively(Paths.get(profileDirectory));
+        }
+    }
+
+    private static synchronized Path ensureTemplate(Function<String, ChromeDriver> templateLauncher) {
+        if (template != null || unavailable) {
+            return template;
+        }
+        Path dir = Paths.get(ConfigReader.getChromeProfileTemplateDir(), "golden").toAbsolutePath();
+        long start = System.currentTimeMillis();
+        WebDriver driver = null;
+        try {
+            deleteRecursively(dir);
+            Files.createDirectories(dir);
+            // Remove copies left behind by runs that did not shut down cleanly
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(dir.getParent(), "session_*")) {
+                leftovers.forEach(ChromeProfileTemplate::deleteRecursively);
+            }
+            driver = templateLauncher.apply(dir.toString());
+            warmUp(driver);
+        } catch (Exception e) {
+            LogUtil.warn("Failed to build golden Chrome profile, drivers will start with empty profiles: " + e.getMessage());
+            unavailable = true;
+            return null;
+        } finally {
+            if (driver != null) {
+                // Quitting flushes cookies and preferences to disk
+                driver.quit();
+            }
+        }
+        prune(dir);
+        template = dir;
+        LogUtil.info("Golden Chrome profile built at " + dir + " in " + (System.currentTimeMillis() - start) + " ms");
+        return template;
+    }
+
+    private static void warmUp(WebDriver driver) {
+        String url = ConfigReader.getChromeProfileTemplateWarmupUrl();
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+        driver.get(url);
+        wait.until(webDriver -> "complete".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
+
+        String dismissXpath = ConfigReader.getChromeProfileTemplateDismissXpath();
+        if (!dismissXpath.isEmpty()) {
+            List<WebElement> dismiss = driver.findElements(By.xpath(dismissXpath));
+            if (!dismiss.isEmpty() && dismiss.get(0).isDisplayed()) {
+                dismiss.get(0).click();
+                LogUtil.info("Dismissed first-visit interstitial while building golden profile");
+                // Load once more so cookies set by the interstitial are in place
+                driver.get(url);
+                wait.until(webDriver -> "complete".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
+            }
+        }
+    }
+
+    /**
+     * Copies with cp --reflink=always so unsupported filesystems fail fast instead of doing a slow full copy
+     */
+    private static boolean reflinkCopy(Path source, Path target) {
+        if (!System.getProperty("os.name", "").toLowerCase().contains("linux")) {
+            return false;
+        }
+        try {
+            Process process = new ProcessBuilder("cp", "-R", "--reflink=always", source.toString(), target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void plainCopy(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Drops caches and lock files from the template once, so every copy is small and startable
+     */
+    private static void prune(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<Path> excluded = paths.filter(path -> !path.equals(dir) && EXCLUDED.contains(path.getFileName().toString()))
+                    .collect(Collectors.toList());
+            excluded.forEach(ChromeProfileTemplate::deleteRecursively);
+        } catch (IOException e) {
+            LogUtil.warn("Failed to prune golden Chrome profile: " + e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            LogUtil.warn("Failed to delete Chrome profile directory " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package drivers;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import utils.LogUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ChromeDriver attached to a shared Chrome process that works inside its own incognito browser context.
+ * The context has separate cookies, storage and cache from every other context in the process.
+ * Window handles are limited to the tabs of this context, so scenario code never sees or closes
+ * tabs belonging to other threads. Target commands are sent through the host driver, whose
+ * default tab outlives every context.
+ */
+class ContextChromeDriver extends ChromeDriver {
+
+    private final BrowserContextManager.Host host;
+    private volatile String browserContextId;
+    private volatile String downloadDirectory;
+
+    ContextChromeDriver(ChromeDriverService service, ChromeOptions options, BrowserContextManager.Host host) {
+        super(service, options);
+        this.host = host;
+    }
+
+    String getBrowserContextId() {
+        return browserContextId;
+    }
+
+    /**
+     * Creates a fresh browser context with one blank tab and switches to it
+     */
+    void openContext(String downloadDirectory) {
+        this.downloadDirectory = downloadDirectory;
+        Map<String, Object> created = host.executeCdpCommand("Target.createBrowserContext",
+                Collections.singletonMap("disposeOnDetach", false));
+        browserContextId = String.valueOf(created.get("browserContextId"));
+
+        if (downloadDirectory != null) {
+            Map<String, Object> download = new HashMap<>();
+            download.put("behavior", "allow");
+            download.put("browserContextId", browserContextId);
+            download.put("downloadPath", downloadDirectory);
+            host.executeCdpCommand("Browser.setDownloadBehavior", download);
+        }
+
+        Map<String, Object> target = new HashMap<>();
+        target.put("url", "about:blank");
+        target.put("browserContextId", browserContextId);
+        String targetId = String.valueOf(host.executeCdpCommand("Target.createTarget", target).get("targetId"));
+        switchTo().window(targetId);
+    }
+
+    /**
+     * Disposes the current context, dropping all of its tabs, cookies and storage, and opens a new one
+     */
+    void recreateContext() {
+        disposeContext();
+        openContext(downloadDirectory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> getWindowHandles() {
+        Set<String> handles = super.getWindowHandles();
+        if (browserContextId == null) {
+            return handles;
+        }
+        try {
+            Set<String> ownTargets = new LinkedHashSet<>();
+            List<Map<String, Object>> targets = (List<Map<String, Object>>) host.executeCdpCommand("Target.getTargets",
+                    Collections.emptyMap()).get("targetInfos");
+            for (Map<String, Object> target : targets) {
+                if ("page".equals(target.get("type")) && browserContextId.equals(target.get("browserContextId"))) {
+                    ownTargets.add(String.valueOf(target.get("targetId")));
+                }
+            }
+            handles.retainAll(ownTargets);
+        } catch (Exception e) {
+            LogUtil.warn("Could not filter window handles by browser context: " + e.getMessage());
+        }
+        return handles;
+    }
+
+    @Override
+    public void quit() {
+        try {
+            disposeContext();
+        } finally {
+            try {
+                super.quit();
+            } finally {
+                BrowserContextManager.releaseHost(host);
+            }
+        }
+    }
+
+    private void disposeContext() {
+        String contextId = browserContextId;
+        if (contextId == null) {
+            return;
+        }
+        browserContextId = null;
+        try {
+            host.executeCdpCommand("Target.disposeBrowserContext", Collections.singletonMap("browserContextId", contextId));
+        } catch (Exception e) {
+            LogUtil.warn("Failed to dispose browser context " + contextId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package drivers;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) once per JVM.
+ * Resolved binaries are copied to an on-disk cache keyed by browser major version and verified
+ * by SHA-256 before reuse, so later runs skip WebDriverManager's version lookups entirely.
+ * With driver.binary.offline=true the pinned path from config is used and nothing is resolved.
+ */
+public class DriverBinaryResolver {
+
+    private static final String INDEX_FILE = "driver-index.properties";
+    private static final Pattern MAJOR_VERSION = Pattern.compile("(\\d+)\\.\\d+");
+    private static final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {}
+
+    /**
+     * Makes sure the driver binary for the browser is resolved and exported to the matching
+     * webdriver.*.driver system property. Only the first call per browser does any work.
+     */
+    public static String resolve(String browser) {
+        return resolvedPaths.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(String browser) {
+        long start = System.currentTimeMillis();
+        String path = ConfigReader.isDriverBinaryOffline() ? resolvePinned(browser) : resolveCached(browser);
+        System.setProperty(systemPropertyFor(browser), path);
+        LogUtil.info("Using " + browser + " driver binary: " + path + " (resolved in " + (System.currentTimeMillis() - start) + " ms)");
+        return path;
+    }
+
+    private static String resolvePinned(String browser) {
+        String path = ConfigReader.getProperty("driver.binary.path." + browser);
+        if (path == null || path.isEmpty()) {
+            throw new RuntimeException("Offline driver mode is enabled but driver.binary.path." + browser + " is not configured");
+        }
+        File binary = new File(path);
+        if (!binary.isFile()) {
+            throw new RuntimeException("Pinned driver binary not found: " + binary.getAbsolutePath());
+        }
+        String expectedChecksum = ConfigReader.getProperty("driver.binary.sha256." + browser, "");
+        if (!expectedChecksum.isEmpty() && !expectedChecksum.equalsIgnoreCase(sha256(binary.toPath()))) {
+            throw new RuntimeException("Checksum mismatch for pinned driver binary: " + binary.getAbsolutePath());
+        }
+        RunMetrics.increment("driver.binary.pinned");
+        return binary.getAbsolutePath();
+    }
+
+    private static String resolveCached(String browser) {
+        WebDriverManager manager = managerFor(browser);
+        String major = detectBrowserMajorVersion(manager).orElse(null);
+        Path cacheDir = Paths.get(ConfigReader.getDriverBinaryCacheDir());
+
+        if (major != null) {
+            Optional<String> cached = lookup(cacheDir, browser, major);
+            if (cached.isPresent()) {
+                RunMetrics.increment("driver.binary.cache.hits");
+                return cached.get();
+            }
+        } else {
+            LogUtil.warn("Could not detect " + browser + " version, driver binary cache is bypassed for this run");
+        }
+
+        RunMetrics.increment("driver.binary.cache.misses");
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        if (downloaded == null) {
+            throw new RuntimeException("WebDriverManager did not resolve a driver binary for " + browser);
+        }
+        if (major == null) {
+            return downloaded;
+        }
+        return store(cacheDir, browser, major, Paths.get(downloaded));
+    }
+
+    private static Optional<String> lookup(Path cacheDir, String browser, String major) {
+        Properties index = loadIndex(cacheDir);
+        String path = index.getProperty(browser + "." + major + ".path");
+        String checksum = index.getProperty(browser + "." + major + ".sha256");
+        if (path == null || checksum == null || !Files.isRegularFile(Paths.get(path))) {
+            return Optional.empty();
+        }
+        if (!checksum.equalsIgnoreCase(sha256(Paths.get(path)))) {
+            LogUtil.warn("Cached " + browser + " driver failed checksum verification, resolving again: " + path);
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    private static synchronized String store(Path cacheDir, String browser, String major, Path source) {
+        try {
+            Path target = cacheDir.resolve(browser).resolve(major).resolve(source.getFileName());
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            if (!target.toFile().setExecutable(true)) {
+                LogUtil.warn("Could not mark cached driver binary as executable: " + target);
+            }
+
+            Properties index = loadIndex(cacheDir);
+            index.setProperty(browser + "." + major + ".path", target.toAbsolutePath().toString());
+            index.setProperty(browser + "." + major + ".sha256", sha256(target));
+            Path temp = cacheDir.resolve(INDEX_FILE + ".tmp");
+            try (OutputStream out = new FileOutputStream(temp.toFile())) {
+                index.store(out, "Resolved driver binaries by browser major version");
+            }
+            Files.move(temp, cacheDir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LogUtil.info("Cached " + browser + " " + major + " driver binary at: " + target);
+            return target.toAbsolutePath().toString();
+        } catch (IOException e) {
+            LogUtil.warn("Failed to cache driver binary, using WebDriverManager path: " + e.getMessage());
+            return source.toAbsolutePath().toString();
+        }
+    }
+
+    private static Properties loadIndex(Path cacheDir) {
+        Properties index = new Properties();
+        File file = cacheDir.resolve(INDEX_FILE).toFile();
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                index.load(in);
+            } catch (IOException e) {
+                LogUtil.warn("Failed to read driver binary cache index: " + e.getMessage());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Detects the installed browser's major version by running "<browser> --version" locally.
+     * No network access is involved.
+     */
+    private static Optional<String> detectBrowserMajorVersion(WebDriverManager manager) {
+        try {
+            Optional<Path> browserPath = manager.getBrowserPath();
+            if (!browserPath.isPresent()) {
+                return Optional.empty();
+            }
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.readLine();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            if (output == null) {
+                return Optional.empty();
+            }
+            Matcher matcher = MAJOR_VERSION.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (Exception e) {
+            LogUtil.warn("Browser version detection failed: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String systemPropertyFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to compute checksum for: " + file, e);
+        }
+    }
+}
@@ -2,96 +2,291 @@ package drivers;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
+import common.ElementCache;
+import common.LocatorProfiler;
+import common.TimeoutPolicy;
 import config.ConfigReader;
 import utils.LogUtil;
+import utils.RunMetrics;
+import utils.Waiter;
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DriverFactory {
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
     private static final Set<WebDriver> allDrivers = Collections.synchronizedSet(new HashSet<>());
-    private static final int IMPLICIT_WAIT_SECONDS = 10;
-    private static final int PAGE_LOAD_TIMEOUT_SECONDS = 30;
+    private static final Map<WebDriver, DriverSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, DriverPool> pools = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ScenarioStart> scenarioStart = new ThreadLocal<>();
+    private static volatile ExecutorService prewarmExecutor;
+    private static final long PREWARM_DRAIN_LOG_SECONDS = 10;
 
     private DriverFactory() {}
 
+    /**
+     * What to do with the browser once a scenario first asks for it
+     */
+    private static class ScenarioStart {
+        private final Collection<String> tags;
+        private final String startUrl;
+        private final boolean browserAllowed;
+        private final String sessionState;
+
+        ScenarioStart(Collection<String> tags, String startUrl, boolean browserAllowed, String sessionState) {
+            this.tags = tags;
+            this.startUrl = startUrl;
+            this.browserAllowed = browserAllowed;
+            this.sessionState = sessionState;
+        }
+    }
+
     public static WebDriver getDriver() {
         if (driverThreadLocal.get() == null) {
+            ScenarioStart start = scenarioStart.get();
+            if (start != null && !start.browserAllowed) {
+                throw new IllegalStateException("Scenario is tagged @nobrowser but a browser was requested");
+            }
+            long acquireStart = System.currentTimeMillis();
             String browserName = ConfigReader.getBrowser();
-            WebDriver driver = createDriver(browserName);
+            WebDriver driver;
+            if (ConfigReader.isDriverPoolEnabled()) {
+                driver = getPool(browserName).lease(Duration.ofSeconds(ConfigReader.getDriverPoolLeaseTimeout()));
+            } else {
+                driver = createDriver(browserName);
+            }
             driverThreadLocal.set(driver);
-            allDrivers.add(driver);
+            if (start != null) {
+                scenarioStart.remove();
+                DriverStartupProfiler.record("scenario.driver.acquire", System.currentTimeMillis() - acquireStart);
+                startScenario(driver, start);
+            }
         }
         return driverThreadLocal.get();
     }
 
+    /**
+     * Defers browser provisioning for the current scenario until the first getDriver() call.
+     * The scenario's tags decide what happens then:
+     *   @nobrowser           the scenario must not use a browser; getDriver() fails
+     *   @startUrl=/path      open this URL (absolute, or relative to the base url) instead of the base url
+     *   @startUrl=           do not navigate anywhere
+     *   @session=name        start with the cached session state "name" (see SessionStateCache)
+     */
+    public static void prepareScenario(Collection<String> tags) {
+        String startUrl = ConfigReader.getProperty("url");
+        boolean browserAllowed = true;
+        String sessionState = null;
+        for (String tag : tags) {
+            if (tag.equalsIgnoreCase("@nobrowser")) {
+                browserAllowed = false;
+            } else if (tag.startsWith("@startUrl=")) {
+                startUrl = resolveStartUrl(tag.substring("@startUrl=".length()).trim());
+            } else if (tag.startsWith("@session=")) {
+                sessionState = tag.substring("@session=".length()).trim();
+            }
+        }
+        scenarioStart.set(new ScenarioStart(tags, startUrl, browserAllowed, sessionState));
+    }
+
+    /**
+     * Drops the pending scenario start of the current thread, whether or not it was used
+     */
+    public static void clearScenario() {
+        scenarioStart.remove();
+    }
+
+    private static String resolveStartUrl(String url) {
+        String baseUrl = ConfigReader.getProperty("url", "");
+        if (url.startsWith("/") && !baseUrl.isEmpty()) {
+            return baseUrl.replaceAll("/+$", "") + url;
+        }
+        return url;
+    }
+
+    private static void startScenario(WebDriver driver, ScenarioStart start) {
+        RequestBlocker.applyForScenario(driver, start.tags);
+        if (start.sessionState != null && !start.sessionState.isEmpty()) {
+            SessionStateCache.restoreOrMarkForCapture(driver, start.sessionState);
+        }
+        if (start.startUrl == null || start.startUrl.isEmpty()) {
+            LogUtil.info("No start URL for this scenario, browser left on a blank page");
+            return;
+        }
+        long navigationStart = System.currentTimeMillis();
+        driver.get(start.startUrl);
+        DriverStartupProfiler.record("scenario.first.navigation", System.currentTimeMillis() - navigationStart);
+        LogUtil.info("Navigated to URL: " + start.startUrl);
+    }
+
+    /**
+     * Starts launching thread.count browsers for the configured browser type in the background.
+     * Returns immediately; scenarios pick the drivers up from the pool as soon as each is ready.
+     */
+    public static synchronized void prewarmDrivers() {
+        if (!ConfigReader.isDriverPoolEnabled() || !ConfigReader.isDriverPrewarmEnabled()) {
+            LogUtil.info("Driver pre-warming is disabled");
+            return;
+        }
+        if (prewarmExecutor != null) {
+            return;
+        }
+        int count = ConfigReader.getThreadCount();
+        AtomicInteger threadNumber = new AtomicInteger();
+        prewarmExecutor = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.currentTimeMillis();
+        CompletableFuture.allOf(getPool(ConfigReader.getBrowser()).prewarm(count, prewarmExecutor)
+                        .toArray(new CompletableFuture[0]))
+                .thenRun(() -> LogUtil.info("Driver pre-warming finished in " + (System.currentTimeMillis() - start) + " ms"));
+        prewarmExecutor.shutdown();
+        LogUtil.info("Started pre-warming " + count + " " + ConfigReader.getBrowser() + " drivers in the background");
+    }
+
     @Deprecated
     public static WebDriver getDriver(String browserName) {
         return getDriver();
     }
 
+    private static DriverPool getPool(String browserName) {
+        String browser = browserName.toLowerCase().trim();
+        return pools.computeIfAbsent(browser,
+                key -> new DriverPool(key, ConfigReader.getThreadCount(), () -> createDriver(key)));
+    }
+
+    /**
+     * Returns the bookkeeping record for a driver created by this factory, or null if unknown.
+     */
+    public static DriverSession getSession(WebDriver driver) {
+        return driver == null ? null : sessions.get(driver);
+    }
+
     private static WebDriver createDriver(String browserName) {
         WebDriver driver;
         String browser = browserName.toLowerCase().trim();
+        DriverSession session = new DriverSession(browser);
         boolean headless = ConfigReader.getHeadlessMode();
+        DriverStartupProfiler.begin(browser);
         try {
             LogUtil.info("Initializing driver for browser: " + browser + ", headless: " + headless);
             switch (browser) {
                 case "chrome":
-                    driver = createChromeDriver(headless);
+                    driver = ConfigReader.isDriverContextModeEnabled()
+                            ? createChromeContextDriver(session, headless)
+                            : createChromeDriver(session, headless);
                     break;
                 case "firefox":
-                    driver = createFirefoxDriver(headless);
+                    driver = createFirefoxDriver(session, headless);
                     break;
                 case "edge":
-                    driver = createEdgeDriver(headless);
+                    driver = createEdgeDriver(session, headless);
                     break;
                 case "safari":
-                    driver = createSafariDriver();
+                    driver = createSafariDriver(session);
                     break;
                 case "remote":
                     driver = createRemoteDriver();
                     break;
                 default:
                     LogUtil.warn("Browser '" + browser + "' not recognized. Using Chrome as default.");
-                    driver = createChromeDriver(headless);
+                    driver = createChromeDriver(session, headless);
                     break;
             }
             LogUtil.info("Driver initialized successfully for browser: " + browser);
             configureDriver(driver);
+            sessions.put(driver, session);
+            allDrivers.add(driver);
+            DriverStartupProfiler.end();
             return driver;
 
         } catch (Exception e) {
+            DriverStartupProfiler.fail(e);
             LogUtil.error("Failed to initialize driver: " + e.getMessage());
             throw new RuntimeException("Driver initialization failed", e);
+        } catch (Error e) {
+            DriverStartupProfiler.fail(e);
+            throw e;
         }
     }
 
-    private static WebDriver createChromeDriver(boolean headless) {
+    private static WebDriver createChromeDriver(DriverSession session, boolean headless) {
+        ChromeDriver driver = launchChrome(session, headless);
+        RequestBlocker.install(driver);
+        DriverStartupProfiler.mark("request.blocking");
+        return driver;
+    }
+
+    /**
+     * Creates a driver in its own browser context inside a shared Chrome process (driver.context.mode).
+     */
+    private static WebDriver createChromeContextDriver(DriverSession session, boolean headless) {
+        try {
+            DriverBinaryResolver.resolve("chrome");
+            DriverStartupProfiler.mark("binary.resolution");
+            String downloadPath = createDownloadDirectory();
+            DriverStartupProfiler.mark("download.dir");
+            ChromeDriver driver = BrowserContextManager.createContextDriver(session, downloadPath,
+                    hostSession -> launchChrome(hostSession, headless));
+            RequestBlocker.install(driver);
+            DriverStartupProfiler.mark("request.blocking");
+            return driver;
+        } catch (Exception e) {
+            LogUtil.error("Failed to create Chrome context driver: " + e.getMessage());
+            throw new RuntimeException("Chrome context driver creation failed", e);
+        }
+    }
+
+    private static ChromeDriver launchChrome(DriverSession session, boolean headless) {
+        String profileDirectory = ChromeProfileTemplate.newProfileCopy(
+                templateDirectory -> launchChrome(new DriverSession("chrome"), headless, templateDirectory));
+        session.setProfileDirectory(profileDirectory);
+        DriverStartupProfiler.mark("profile.copy");
+        return launchChrome(session, headless, profileDirectory);
+    }
+
+    private static ChromeDriver launchChrome(DriverSession session, boolean headless, String userDataDirectory) {
         try {
             LogUtil.info("Setting up ChromeDriver with headless=" + headless);
 
-            WebDriverManager.chromedriver().setup();
+            DriverBinaryResolver.resolve("chrome");
             LogUtil.info("ChromeDriver setup completed");
+            DriverStartupProfiler.mark("binary.resolution");
 
             ChromeOptions options = new ChromeOptions();
 
             String downloadPath = createDownloadDirectory();
+            session.setDownloadDirectory(downloadPath);
+            DriverStartupProfiler.mark("download.dir");
             Map<String, Object> prefs = new java.util.HashMap<>();
             prefs.put("profile.default_content_settings.popups", 0);
             prefs.put("download.default_directory", downloadPath);
@@ -108,17 +303,29 @@ public class DriverFactory {
             options.addArguments("--allow-running-insecure-content");
             options.addArguments("--remote-allow-origins=*");
             options.addArguments("--disable-blink-features=AutomationControlled");
+            if (userDataDirectory != null) {
+                options.addArguments("--user-data-dir=" + userDataDirectory);
+            }
 
             if (headless) {
                 options.addArguments("--headless=new");
                 LogUtil.info("Chrome running in headless mode");
             }
 
+            options.setPageLoadStrategy(ConfigReader.getPageLoadStrategy());
             options.setExperimentalOption("useAutomationExtension", false);
             options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
 
             LogUtil.info("Creating Chrome driver with options. Download directory: " + downloadPath);
-            return new ChromeDriver(options);
+            DriverStartupProfiler.mark("options");
+            ChromeDriverService service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+            session.setServicePort(service.getUrl().getPort());
+            // Start the service explicitly so its spawn time is measured apart from the session handshake
+            service.start();
+            DriverStartupProfiler.mark("service.spawn");
+            ChromeDriver driver = new ChromeDriver(service, options);
+            DriverStartupProfiler.mark("session.handshake");
+            return driver;
 
         } catch (Exception e) {
             LogUtil.error("Failed to create Chrome driver: " + e.getMessage());
@@ -145,9 +352,10 @@ public class DriverFactory {
         }
     }
 
-    private static WebDriver createFirefoxDriver(boolean headless) {
+    private static WebDriver createFirefoxDriver(DriverSession session, boolean headless) {
         try {
-            WebDriverManager.firefoxdriver().setup();
+            DriverBinaryResolver.resolve("firefox");
+            DriverStartupProfiler.mark("binary.resolution");
             FirefoxOptions options = new FirefoxOptions();
 
             if (headless) {
@@ -159,8 +367,16 @@ public class DriverFactory {
             options.addArguments("--height=1080");
             options.addPreference("dom.webnotifications.enabled", false);
             options.addPreference("media.volume_scale", "0.0");
-
-            return new FirefoxDriver(options);
+            options.setPageLoadStrategy(ConfigReader.getPageLoadStrategy());
+
+            DriverStartupProfiler.mark("options");
+            GeckoDriverService service = new GeckoDriverService.Builder().usingAnyFreePort().build();
+            session.setServicePort(service.getUrl().getPort());
+            service.start();
+            DriverStartupProfiler.mark("service.spawn");
+            FirefoxDriver driver = new FirefoxDriver(service, options);
+            DriverStartupProfiler.mark("session.handshake");
+            return driver;
 
         } catch (Exception e) {
             LogUtil.error("Failed to create Firefox driver: " + e.getMessage());
@@ -168,9 +384,10 @@ public class DriverFactory {
         }
     }
 
-    private static WebDriver createEdgeDriver(boolean headless) {
+    private static WebDriver createEdgeDriver(DriverSession session, boolean headless) {
         try {
-            WebDriverManager.edgedriver().setup();
+            DriverBinaryResolver.resolve("edge");
+            DriverStartupProfiler.mark("binary.resolution");
             EdgeOptions options = new EdgeOptions();
 
             if (headless) {
@@ -181,8 +398,16 @@ public class DriverFactory {
             options.addArguments("--no-sandbox");
             options.addArguments("--disable-dev-shm-usage");
             options.addArguments("--window-size=1920,1080");
-
-            return new EdgeDriver(options);
+            options.setPageLoadStrategy(ConfigReader.getPageLoadStrategy());
+
+            DriverStartupProfiler.mark("options");
+            EdgeDriverService service = new EdgeDriverService.Builder().usingAnyFreePort().build();
+            session.setServicePort(service.getUrl().getPort());
+            service.start();
+            DriverStartupProfiler.mark("service.spawn");
+            EdgeDriver driver = new EdgeDriver(service, options);
+            DriverStartupProfiler.mark("session.handshake");
+            return driver;
 
         } catch (Exception e) {
             LogUtil.error("Failed to create Edge driver: " + e.getMessage());
@@ -190,51 +415,91 @@ public class DriverFactory {
         }
     }
 
-    private static WebDriver createSafariDriver() {
+    private static WebDriver createSafariDriver(DriverSession session) {
         try {
             killSafariProcesses();
-            Thread.sleep(2000);
             return createSafariDriverWithRetry();
         } catch (Exception e) {
             LogUtil.warn("Safari failed, falling back to Chrome");
-            return createChromeDriver(false);
+            return createChromeDriver(session, false);
         }
     }
 
-    private static WebDriver createSafariDriverWithRetry() throws Exception {
-        int maxRetries = 3;
-        Exception lastException = null;
-
-        for (int i = 0; i < maxRetries; i++) {
-            try {
-                return new SafariDriver();
-            } catch (Exception e) {
-                lastException = e;
-                killSafariProcesses();
-                Thread.sleep(3000);
-            }
+    private static WebDriver createSafariDriverWithRetry() {
+        try {
+            return Waiter.of("safari.retry")
+                    .attempts(3)
+                    .timeout(Duration.ofSeconds(30))
+                    .backoff(Duration.ofSeconds(1), Duration.ofSeconds(3))
+                    .ignoring(RuntimeException.class)
+                    .onRetry(e -> killSafariProcesses())
+                    .retry(() -> {
+                        SafariOptions options = new SafariOptions();
+                        options.setPageLoadStrategy(ConfigReader.getPageLoadStrategy());
+                        return new SafariDriver(options);
+                    });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to create Safari driver after retries", e);
         }
-
-        throw new RuntimeException("Failed to create Safari driver after retries", lastException);
     }
 
+    /**
+     * Kills leftover Safari and safaridriver processes and waits (up to 2 seconds) until they are gone
+     */
     private static void killSafariProcesses() {
         try {
             Runtime.getRuntime().exec("pkill -f Safari");
             Runtime.getRuntime().exec("pkill -f safaridriver");
             Runtime.getRuntime().exec("pkill -f 'Safari.*WebDriver'");
+            Waiter.of("safari.restart").timeout(Duration.ofSeconds(2)).backoff(Duration.ofMillis(100), Duration.ofMillis(500))
+                    .untilOrNull(() -> !isSafariDriverRunning());
         } catch (Exception e) {
             LogUtil.warn("Failed to kill Safari processes: " + e.getMessage());
         }
     }
 
+    private static boolean isSafariDriverRunning() {
+        try {
+            return Runtime.getRuntime().exec(new String[]{"pgrep", "-f", "safaridriver"}).waitFor() == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     private static WebDriver createRemoteDriver() {
         try {
             String hubUrl = ConfigReader.getProperty("grid.url", "http://localhost:4444/wd/hub");
             String browser = ConfigReader.getProperty("remote.browser", "chrome");
             DesiredCapabilities capabilities = new DesiredCapabilities();
             capabilities.setBrowserName(browser);
-            return new RemoteWebDriver(new URL(hubUrl), capabilities);
+            capabilities.setCapability(CapabilityType.PAGE_LOAD_STRATEGY, ConfigReader.getPageLoadStrategy().toString());
+
+            URL statusUrl = new URL(ConfigReader.getGridStatusUrl());
+            Duration slotTimeout = Duration.ofSeconds(ConfigReader.getRemoteSlotWaitTimeout());
+            long deadline = System.currentTimeMillis() + slotTimeout.toMillis();
+            while (true) {
+                GridSlotScheduler.acquire(statusUrl, browser, Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis())));
+                DriverStartupProfiler.mark("grid.slot.wait");
+                try {
+                    HttpCommandExecutor executor = new HttpCommandExecutor(Collections.emptyMap(),
+                            SharedHttpClientFactory.clientConfig(new URL(hubUrl)), SharedHttpClientFactory.getInstance());
+                    RemoteWebDriver driver = new RemoteWebDriver(executor, capabilities);
+                    DriverStartupProfiler.mark("session.handshake");
+                    return driver;
+                } catch (SessionNotCreatedException e) {
+                    // Another client took the slot between the status check and the request; queue again
+                    if (System.currentTimeMillis() >= deadline) {
+                        throw e;
+                    }
+                    RunMetrics.increment("remote.session.retries");
+                    LogUtil.warn("Remote session not created, waiting for another slot: " + e.getRawMessage());
+                } finally {
+                    GridSlotScheduler.release();
+                }
+            }
         } catch (Exception e) {
             throw new RuntimeException("Failed to create remote driver", e);
         }
@@ -242,45 +507,133 @@ public class DriverFactory {
 
     private static void configureDriver(WebDriver driver) {
         try {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT_SECONDS));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(PAGE_LOAD_TIMEOUT_SECONDS));
+            driver.manage().timeouts().implicitlyWait(TimeoutPolicy.implicitWait());
+            driver.manage().timeouts().pageLoadTimeout(TimeoutPolicy.budget(TimeoutPolicy.Operation.NAVIGATION));
+            DriverStartupProfiler.mark("timeouts");
             driver.manage().window().maximize();
+            DriverStartupProfiler.mark("window.maximize");
         } catch (Exception e) {
             LogUtil.warn("Failed to configure driver: " + e.getMessage());
         }
     }
 
     public static void quitAllDrivers() {
+        awaitPrewarm();
+        pools.values().forEach(DriverPool::clear);
+        pools.clear();
         synchronized (allDrivers) {
             allDrivers.forEach(driver -> {
                 try {
+                    RequestBlocker.uninstall(driver);
                     if (driver != null) driver.quit();
                 } catch (Exception e) {
                     LogUtil.error("Error closing browser: " + e.getMessage());
+                } finally {
+                    DriverSession session = sessions.get(driver);
+                    if (session != null) {
+                        ChromeProfileTemplate.deleteCopy(session.getProfileDirectory());
+                    }
                 }
             });
             allDrivers.clear();
+            sessions.clear();
             driverThreadLocal.remove();
         }
+        BrowserContextManager.shutdown();
+        SharedHttpClientFactory.getInstance().shutdown();
+    }
+
+    private static void awaitPrewarm() {
+        ExecutorService executor = prewarmExecutor;
+        if (executor == null) {
+            return;
+        }
+        try {
+            // Let every in-flight launch finish so its browser is registered and quit below. Launches are
+            // bounded by their own startup timeouts; the prewarm threads are daemons, so leaving one behind
+            // would let the JVM exit mid-launch and orphan its browser and driver processes.
+            while (!executor.awaitTermination(PREWARM_DRAIN_LOG_SECONDS, TimeUnit.SECONDS)) {
+                LogUtil.warn("Waiting for driver pre-warming to finish before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            prewarmExecutor = null;
+        }
     }
 
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
-                driver.quit();
-            } catch (Exception e) {
-                LogUtil.error("Error while quitting driver: " + e.getMessage());
+                DriverPool pool = findOwningPool(driver);
+                if (pool != null) {
+                    pool.discard(driver);
+                } else {
+                    destroyDriver(driver);
+                }
             } finally {
                 driverThreadLocal.remove();
             }
         }
     }
 
+    /**
+     * Ends the current thread's use of its driver. Pooled drivers are reset and returned to
+     * their pool for the next scenario; unpooled drivers are quit.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        DriverPool pool = findOwningPool(driver);
+        if (pool == null) {
+            quitDriver();
+            return;
+        }
+        try {
+            pool.release(driver);
+        } finally {
+            driverThreadLocal.remove();
+        }
+    }
+
+    /**
+     * Quits a driver and drops all bookkeeping for it.
+     */
+    static void destroyDriver(WebDriver driver) {
+        try {
+            SessionStateCache.forget(driver);
+            ElementCache.forget(driver);
+            LocatorProfiler.forget(driver);
+            driver.quit();
+        } catch (Exception e) {
+            LogUtil.error("Error while quitting driver: " + e.getMessage());
+        } finally {
+            allDrivers.remove(driver);
+            DriverSession session = sessions.remove(driver);
+            if (session != null) {
+                ChromeProfileTemplate.deleteCopy(session.getProfileDirectory());
+            }
+            RequestBlocker.uninstall(driver);
+        }
+    }
+
+    private static DriverPool findOwningPool(WebDriver driver) {
+        for (DriverPool pool : pools.values()) {
+            if (pool.owns(driver)) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
     public static void removeDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             allDrivers.remove(driver);
+            sessions.remove(driver);
             driverThreadLocal.remove();
         }
     }
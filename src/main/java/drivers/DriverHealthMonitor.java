@@ -0,0 +1,210 @@
+package drivers;
+
+import config.ConfigReader;
+import utils.ExtentManager;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a pooled driver should be recycled between scenarios.
+ * Tracks scenarios served and session age from DriverSession and samples the RSS and CPU time
+ * of the driver's process tree (driver service plus browser and renderer children) from /proc.
+ */
+public class DriverHealthMonitor {
+
+    private static final Path PROC = Paths.get("/proc");
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    private static final AtomicLong peakRssBytes = new AtomicLong();
+
+    private DriverHealthMonitor() {}
+
+    /**
+     * Resource usage of a driver's process tree at one point in time
+     */
+    public static class ProcessSample {
+        private final int processCount;
+        private final long rssBytes;
+        private final long cpuMillis;
+
+        ProcessSample(int processCount, long rssBytes, long cpuMillis) {
+            this.processCount = processCount;
+            this.rssBytes = rssBytes;
+            this.cpuMillis = cpuMillis;
+        }
+
+        public int getProcessCount() {
+            return processCount;
+        }
+
+        public long getRssBytes() {
+            return rssBytes;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        @Override
+        public String toString() {
+            return processCount + " processes, RSS " + (rssBytes / (1024 * 1024)) + " MB, CPU " + cpuMillis + " ms";
+        }
+    }
+
+    /**
+     * Counts the finished scenario against the driver and returns the reason it should be
+     * recycled, or empty if it is still healthy.
+     */
+    public static Optional<String> checkAfterScenario(DriverSession session) {
+        if (session == null) {
+            return Optional.empty();
+        }
+        int scenarios = session.incrementScenarioCount();
+
+        int maxScenarios = ConfigReader.getDriverRecycleMaxScenarios();
+        if (maxScenarios > 0 && scenarios >= maxScenarios) {
+            return Optional.of("served " + scenarios + " scenarios (max " + maxScenarios + ")");
+        }
+
+        long ageMinutes = (System.currentTimeMillis() - session.getCreatedAtMillis()) / 60000;
+        int maxAge = ConfigReader.getDriverRecycleMaxAgeMinutes();
+        if (maxAge > 0 && ageMinutes >= maxAge) {
+            return Optional.of("session age " + ageMinutes + " min (max " + maxAge + " min)");
+        }
+
+        Optional<ProcessSample> sample = sample(session);
+        if (sample.isPresent()) {
+            LogUtil.info("Driver health after " + scenarios + " scenarios: " + sample.get());
+            peakRssBytes.accumulateAndGet(sample.get().getRssBytes(), Math::max);
+            RunMetrics.setInfo("driver.health.peak.rss.mb", String.valueOf(peakRssBytes.get() / (1024 * 1024)));
+            long rssMb = sample.get().getRssBytes() / (1024 * 1024);
+            int maxRss = ConfigReader.getDriverRecycleMaxRssMb();
+            if (maxRss > 0 && rssMb >= maxRss) {
+                return Optional.of("process tree RSS " + rssMb + " MB (max " + maxRss + " MB)");
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records a recycle in the run metrics and in the current scenario's report
+     */
+    public static void recordRecycle(DriverSession session, String reason) {
+        String message = "Recycling " + session.getBrowser() + " driver: " + reason;
+        LogUtil.info(message);
+        ExtentManager.info(message);
+        RunMetrics.increment("driver.recycled");
+    }
+
+    /**
+     * Samples RSS and CPU time of the process tree rooted at the session's driver service.
+     * Returns empty when /proc is unavailable or the driver process cannot be found.
+     */
+    public static Optional<ProcessSample> sample(DriverSession session) {
+        if (session.getServicePort() <= 0 || !Files.isDirectory(PROC)) {
+            return Optional.empty();
+        }
+        try {
+            if (session.getServicePid() <= 0) {
+                session.setServicePid(findPidByPort(session.getServicePort()));
+            }
+            if (session.getServicePid() <= 0) {
+                return Optional.empty();
+            }
+
+            Map<Long, List<Long>> children = new HashMap<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(PROC, "[0-9]*")) {
+                for (Path entry : entries) {
+                    long[] stat = readStat(entry);
+                    if (stat != null) {
+                        children.computeIfAbsent(stat[0], key -> new ArrayList<>()).add(Long.parseLong(entry.getFileName().toString()));
+                    }
+                }
+            }
+
+            int processCount = 0;
+            long rss = 0;
+            long cpuTicks = 0;
+            Deque<Long> queue = new ArrayDeque<>();
+            queue.add(session.getServicePid());
+            while (!queue.isEmpty()) {
+                long pid = queue.poll();
+                Path dir = PROC.resolve(String.valueOf(pid));
+                long[] stat = readStat(dir);
+                if (stat == null) {
+                    continue;
+                }
+                processCount++;
+                cpuTicks += stat[1];
+                rss += readRssBytes(dir);
+                queue.addAll(children.getOrDefault(pid, new ArrayList<>()));
+            }
+            return Optional.of(new ProcessSample(processCount, rss, cpuTicks * 1000 / CLOCK_TICKS_PER_SECOND));
+        } catch (Exception e) {
+            LogUtil.warn("Failed to sample driver process tree: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static long findPidByPort(int port) throws IOException {
+        String portArgument = "--port=" + port;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(PROC, "[0-9]*")) {
+            for (Path entry : entries) {
+                try {
+                    String cmdline = new String(Files.readAllBytes(entry.resolve("cmdline")), StandardCharsets.UTF_8);
+                    for (String argument : cmdline.split("\u0000")) {
+                        if (argument.equals(portArgument)) {
+                            return Long.parseLong(entry.getFileName().toString());
+                        }
+                    }
+                } catch (IOException e) {
+                    // Process exited while scanning
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {parent pid, utime + stime} from /proc/[pid]/stat, or null if the process is gone
+     */
+    private static long[] readStat(Path processDir) {
+        try {
+            String stat = new String(Files.readAllBytes(processDir.resolve("stat")), StandardCharsets.UTF_8);
+            // The command name is wrapped in parentheses and may contain spaces
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            long parentPid = Long.parseLong(fields[1]);
+            long cpuTicks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            return new long[]{parentPid, cpuTicks};
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static long readRssBytes(Path processDir) {
+        try {
+            for (String line : Files.readAllLines(processDir.resolve("status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (Exception e) {
+            // Process exited or status unreadable
+        }
+        return 0;
+    }
+}
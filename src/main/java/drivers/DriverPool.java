@@ -0,0 +1,368 @@
+package drivers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import common.ElementCache;
+import common.LocatorProfiler;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver instances for a single browser type.
+ * Drivers are leased to a scenario thread, reset when returned and only quit when they
+ * turn out to be unhealthy or when the pool is shut down at the end of the suite.
+ */
+public class DriverPool {
+
+    private static final long WAIT_SLICE_MILLIS = 1000;
+
+    private final String browser;
+    private final int capacity;
+    private final Supplier<WebDriver> factory;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> members = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reserved = new AtomicInteger();
+    private volatile boolean closed;
+
+    public DriverPool(String browser, int capacity, Supplier<WebDriver> factory) {
+        this.browser = browser;
+        this.capacity = Math.max(1, capacity);
+        this.factory = factory;
+        LogUtil.info("Driver pool created for browser: " + browser + " with capacity: " + this.capacity);
+    }
+
+    /**
+     * Hands out an idle driver, creates a new one while under capacity, or waits for a driver
+     * to be returned by another thread.
+     */
+    public WebDriver lease(Duration maxWait) {
+        long deadline = System.currentTimeMillis() + maxWait.toMillis();
+        boolean waited = false;
+        long waitStart = 0;
+
+        while (true) {
+            WebDriver driver = idle.pollFirst();
+            if (driver != null) {
+                recordLease(driver, waited, waitStart);
+                return driver;
+            }
+
+            if (tryReserve()) {
+                RunMetrics.increment("driver.pool.misses");
+                return createMember();
+            }
+
+            if (!waited) {
+                waited = true;
+                waitStart = System.currentTimeMillis();
+                RunMetrics.increment("driver.pool.lease.waits");
+                LogUtil.info("All " + capacity + " " + browser + " drivers are leased, waiting for one to be returned");
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new RuntimeException("Timed out after " + maxWait.getSeconds() + " seconds waiting for a pooled " + browser + " driver");
+            }
+
+            try {
+                driver = idle.pollFirst(Math.min(remaining, WAIT_SLICE_MILLIS), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a pooled driver", e);
+            }
+            if (driver != null) {
+                recordLease(driver, true, waitStart);
+                return driver;
+            }
+        }
+    }
+
+    /**
+     * Launches up to {@code count} drivers in the background and adds each one to the idle queue
+     * as soon as it is ready. Slots are reserved up front so a scenario that leases while warm-up
+     * is still running waits for the warming driver instead of cold-starting another one.
+     */
+    public List<CompletableFuture<Void>> prewarm(int count, Executor executor) {
+        List<CompletableFuture<Void>> warmups = new ArrayList<>();
+        for (int i = 0; i < count && tryReserve(); i++) {
+            warmups.add(CompletableFuture.runAsync(() -> {
+                try {
+                    WebDriver driver = factory.get();
+                    synchronized (this) {
+                        if (!closed) {
+                            members.add(driver);
+                            idle.offerLast(driver);
+                            RunMetrics.increment("driver.pool.prewarmed");
+                            LogUtil.info("Pre-warmed " + browser + " driver is ready. Idle drivers: " + idle.size());
+                            return;
+                        }
+                    }
+                    // The pool was shut down while this driver was launching; nothing else will quit it
+                    LogUtil.warn("Pre-warmed " + browser + " driver finished after shutdown, quitting it");
+                    DriverFactory.destroyDriver(driver);
+                } catch (RuntimeException e) {
+                    reserved.decrementAndGet();
+                    RunMetrics.increment("driver.pool.prewarm.failures");
+                    LogUtil.warn("Failed to pre-warm " + browser + " driver: " + e.getMessage());
+                }
+            }, executor));
+        }
+        return warmups;
+    }
+
+    /**
+     * Resets the driver and returns it to the idle queue. Drivers that fail to reset are discarded.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || !members.contains(driver)) {
+            return;
+        }
+        DriverSession session = DriverFactory.getSession(driver);
+        Optional<String> recycleReason = DriverHealthMonitor.checkAfterScenario(session);
+        if (!recycleReason.isPresent() && !(driver instanceof HasCdp)) {
+            // Without DevTools, IndexedDB, Cache Storage and service workers cannot be cleared
+            recycleReason = Optional.of("browser storage cannot be fully cleared without DevTools");
+        }
+        if (recycleReason.isPresent()) {
+            DriverHealthMonitor.recordRecycle(session, recycleReason.get());
+            discard(driver);
+            return;
+        }
+        if (reset(driver)) {
+            idle.offerFirst(driver);
+            LogUtil.info("Returned " + browser + " driver to pool. Idle drivers: " + idle.size());
+        } else {
+            LogUtil.warn("Driver failed health check on return, discarding it");
+            RunMetrics.increment("driver.pool.unhealthy");
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quits the driver and frees its slot so that a replacement can be created on the next lease.
+     */
+    public void discard(WebDriver driver) {
+        if (driver == null || !members.remove(driver)) {
+            return;
+        }
+        idle.remove(driver);
+        reserved.decrementAndGet();
+        DriverFactory.destroyDriver(driver);
+        RunMetrics.increment("driver.pool.discards");
+    }
+
+    /**
+     * Returns true if the driver was created by this pool and is still tracked by it
+     */
+    public boolean owns(WebDriver driver) {
+        return members.contains(driver);
+    }
+
+    /**
+     * Forgets all pooled drivers and closes the pool. Quitting them is left to DriverFactory.quitAllDrivers();
+     * a pre-warm launch that finishes afterwards quits its own driver.
+     */
+    public synchronized void clear() {
+        closed = true;
+        idle.clear();
+        members.clear();
+        reserved.set(0);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public Set<WebDriver> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = reserved.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private WebDriver createMember() {
+        try {
+            WebDriver driver = factory.get();
+            members.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            reserved.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void recordLease(WebDriver driver, boolean waited, long waitStart) {
+        RunMetrics.increment("driver.pool.hits");
+        if (waited) {
+            RunMetrics.add("driver.pool.lease.wait.ms", System.currentTimeMillis() - waitStart);
+        }
+        LogUtil.info("Leased pooled " + browser + " driver to thread: " + Thread.currentThread().getId());
+    }
+
+    /**
+     * Brings a returned driver back to a clean state: single tab, no cookies, no storage of any kind
+     * for the origins the session visited, blank page and an empty download directory.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            SessionStateCache.forget(driver);
+            ElementCache.forget(driver);
+            LocatorProfiler.forget(driver);
+            if (driver instanceof ContextChromeDriver) {
+                // A new browser context is clean by construction and cheaper than clearing the old one
+                ((ContextChromeDriver) driver).recreateContext();
+                RequestBlocker.reattach(driver);
+            } else {
+                clearState(driver);
+                // The tab blocking was attached to may have been closed
+                RequestBlocker.follow(driver);
+            }
+
+            DriverSession session = DriverFactory.getSession(driver);
+            if (session != null) {
+                cleanDownloadDirectory(session.getDownloadDirectory());
+            }
+            return true;
+        } catch (Exception e) {
+            LogUtil.warn("Failed to reset pooled driver: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void clearState(WebDriver driver) {
+        HasCdp cdp = (HasCdp) driver;
+        Set<String> origins = new LinkedHashSet<>();
+        Set<String> handles = driver.getWindowHandles();
+        String keep = handles.iterator().next();
+        for (String handle : handles) {
+            driver.switchTo().window(handle);
+            collectOrigins(cdp, origins);
+            if (!handle.equals(keep)) {
+                driver.close();
+            }
+        }
+        driver.switchTo().window(keep);
+
+        // Session storage lives in the tab rather than the origin, so clear it before leaving the page
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        driver.get("about:blank");
+        collectCookieOrigins(cdp, origins);
+        for (String origin : origins) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("origin", origin);
+            params.put("storageTypes", "all");
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+        }
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+        LogUtil.debug("Cleared storage for " + origins.size() + " origins: " + origins);
+    }
+
+    /**
+     * Adds the origins of the current tab's history entries and of all frames in its current page
+     */
+    @SuppressWarnings("unchecked")
+    private void collectOrigins(HasCdp cdp, Set<String> origins) {
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) cdp.executeCdpCommand("Page.getNavigationHistory",
+                Collections.emptyMap()).get("entries");
+        if (entries != null) {
+            for (Map<String, Object> entry : entries) {
+                addOrigin(origins, String.valueOf(entry.get("url")));
+            }
+        }
+        collectFrameOrigins((Map<String, Object>) cdp.executeCdpCommand("Page.getFrameTree", Collections.emptyMap())
+                .get("frameTree"), origins);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectFrameOrigins(Map<String, Object> frameTree, Set<String> origins) {
+        if (frameTree == null) {
+            return;
+        }
+        Map<String, Object> frame = (Map<String, Object>) frameTree.get("frame");
+        if (frame != null) {
+            addOrigin(origins, String.valueOf(frame.get("securityOrigin")));
+        }
+        List<Map<String, Object>> children = (List<Map<String, Object>>) frameTree.get("childFrames");
+        if (children != null) {
+            children.forEach(child -> collectFrameOrigins(child, origins));
+        }
+    }
+
+    /**
+     * Adds the origins of every cookie domain, which also covers pages in tabs closed during the scenario
+     */
+    @SuppressWarnings("unchecked")
+    private void collectCookieOrigins(HasCdp cdp, Set<String> origins) {
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) cdp.executeCdpCommand("Network.getAllCookies",
+                Collections.emptyMap()).get("cookies");
+        if (cookies == null) {
+            return;
+        }
+        for (Map<String, Object> cookie : cookies) {
+            String domain = String.valueOf(cookie.get("domain")).replaceFirst("^\\.", "");
+            origins.add("https://" + domain);
+            origins.add("http://" + domain);
+        }
+    }
+
+    private void addOrigin(Set<String> origins, String url) {
+        try {
+            URI uri = new URI(url);
+            if (("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getRawAuthority() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+            }
+        } catch (URISyntaxException e) {
+            // Not a web origin, nothing stored for it
+        }
+    }
+
+    private void cleanDownloadDirectory(String path) {
+        if (path == null) {
+            return;
+        }
+        File[] files = new File(path).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && !file.delete()) {
+                    LogUtil.warn("Failed to delete pooled driver download: " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package drivers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bookkeeping for a single WebDriver instance created by DriverFactory.
+ * Holds everything needed to reset, recycle or report on the driver after creation.
+ */
+public class DriverSession {
+    private final String browser;
+    private final long createdAtMillis;
+    private final AtomicInteger scenarioCount = new AtomicInteger();
+    private volatile String downloadDirectory;
+    private volatile String profileDirectory;
+    private volatile int servicePort = -1;
+    private volatile long servicePid = -1;
+
+    public DriverSession(String browser) {
+        this.browser = browser;
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public String getDownloadDirectory() {
+        return downloadDirectory;
+    }
+
+    public void setDownloadDirectory(String downloadDirectory) {
+        this.downloadDirectory = downloadDirectory;
+    }
+
+    public String getProfileDirectory() {
+        return profileDirectory;
+    }
+
+    public void setProfileDirectory(String profileDirectory) {
+        this.profileDirectory = profileDirectory;
+    }
+
+    public int getScenarioCount() {
+        return scenarioCount.get();
+    }
+
+    public int incrementScenarioCount() {
+        return scenarioCount.incrementAndGet();
+    }
+
+    public int getServicePort() {
+        return servicePort;
+    }
+
+    public void setServicePort(int servicePort) {
+        this.servicePort = servicePort;
+    }
+
+    public long getServicePid() {
+        return servicePid;
+    }
+
+    public void setServicePid(long servicePid) {
+        this.servicePid = servicePid;
+    }
+}
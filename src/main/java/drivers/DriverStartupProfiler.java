@@ -0,0 +1,182 @@
+package drivers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Times the phases of driver startup per thread (binary resolution, download directory,
+ * service spawn, session handshake, window setup, ...) and the per-scenario driver acquisition
+ * and first navigation. At the end of the run every startup is written to
+ * driver-startup-profile.json in the report directory, and p50/p95 per phase go to the
+ * report's system info.
+ */
+public class DriverStartupProfiler {
+
+    private static final String PROFILE_FILE = "driver-startup-profile.json";
+    private static final ThreadLocal<StartupRecord> current = new ThreadLocal<>();
+    private static final List<StartupRecord> records = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, List<Long>> samples = new TreeMap<>();
+
+    private DriverStartupProfiler() {}
+
+    private static class StartupRecord {
+        private final String browser;
+        private final String thread = Thread.currentThread().getName();
+        private final long startedAtMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+        private long lastMarkNanos = startNanos;
+        private long totalMillis;
+        private String failure;
+
+        StartupRecord(String browser) {
+            this.browser = browser;
+        }
+    }
+
+    /**
+     * Starts timing a driver startup on the current thread
+     */
+    static void begin(String browser) {
+        current.set(new StartupRecord(browser));
+    }
+
+    /**
+     * Ends the phase that started at the previous mark (or at begin) and names it.
+     * Does nothing when no startup is being timed on this thread.
+     */
+    static void mark(String phase) {
+        StartupRecord record = current.get();
+        if (record == null) {
+            return;
+        }
+        mark(record, phase);
+    }
+
+    private static void mark(StartupRecord record, String phase) {
+        long now = System.nanoTime();
+        record.phaseMillis.merge(phase, (now - record.lastMarkNanos) / 1_000_000, Long::sum);
+        record.lastMarkNanos = now;
+    }
+
+    /**
+     * Finishes the current thread's startup and adds its phases to the run samples
+     */
+    static void end() {
+        StartupRecord record = current.get();
+        if (record == null) {
+            return;
+        }
+        current.remove();
+        finish(record);
+        LogUtil.info("Driver startup for " + record.browser + " took " + record.totalMillis + " ms " + record.phaseMillis);
+    }
+
+    /**
+     * Finishes the current thread's startup after it failed. The phases completed so far and the time
+     * up to the failure (as phase "failed") are recorded like a successful startup, so slow failed
+     * launches show up in the percentiles; the record is marked failed in the profile file.
+     */
+    static void fail(Throwable error) {
+        StartupRecord record = current.get();
+        if (record == null) {
+            return;
+        }
+        current.remove();
+        mark(record, "failed");
+        record.failure = error.getClass().getSimpleName() + ": " + error.getMessage();
+        finish(record);
+        RunMetrics.increment("driver.startup.failures");
+        LogUtil.warn("Driver startup for " + record.browser + " failed after " + record.totalMillis + " ms " + record.phaseMillis);
+    }
+
+    /**
+     * Records a phase measured outside DriverFactory, e.g. the first navigation of a scenario
+     */
+    public static void record(String phase, long millis) {
+        addSample(phase, millis);
+    }
+
+    /**
+     * Writes the profile file and publishes p50/p95 per phase to RunMetrics.
+     * Call before RunMetrics.publish().
+     */
+    public static void publish() {
+        Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        synchronized (samples) {
+            samples.forEach((phase, values) -> {
+                List<Long> sorted = new ArrayList<>(values);
+                Collections.sort(sorted);
+                Map<String, Long> stats = new LinkedHashMap<>();
+                stats.put("count", (long) sorted.size());
+                stats.put("p50", percentile(sorted, 50));
+                stats.put("p95", percentile(sorted, 95));
+                stats.put("max", sorted.get(sorted.size() - 1));
+                summary.put(phase, stats);
+                RunMetrics.setInfo("driver.startup." + phase,
+                        "p50=" + stats.get("p50") + " ms, p95=" + stats.get("p95") + " ms (n=" + sorted.size() + ")");
+            });
+        }
+        if (summary.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> startups = new ArrayList<>();
+        synchronized (records) {
+            for (StartupRecord record : records) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("browser", record.browser);
+                entry.put("thread", record.thread);
+                entry.put("startedAt", record.startedAtMillis);
+                entry.put("totalMs", record.totalMillis);
+                entry.put("phasesMs", record.phaseMillis);
+                if (record.failure != null) {
+                    entry.put("failure", record.failure);
+                }
+                startups.add(entry);
+            }
+        }
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("summaryMs", summary);
+        profile.put("startups", startups);
+
+        try {
+            File file = new File(ConfigReader.getReportPath(), PROFILE_FILE);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, profile);
+            LogUtil.info("Driver startup profile written to: " + file.getAbsolutePath());
+        } catch (Exception e) {
+            LogUtil.warn("Failed to write driver startup profile: " + e.getMessage());
+        }
+    }
+
+    private static void finish(StartupRecord record) {
+        record.totalMillis = (System.nanoTime() - record.startNanos) / 1_000_000;
+        records.add(record);
+        record.phaseMillis.forEach(DriverStartupProfiler::addSample);
+        addSample("startup.total", record.totalMillis);
+    }
+
+    private static void addSample(String phase, long millis) {
+        synchronized (samples) {
+            samples.computeIfAbsent(phase, key -> new ArrayList<>()).add(millis);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,124 @@
+package drivers;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import utils.LogUtil;
+import utils.RunMetrics;
+import utils.Waiter;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Holds back remote session requests until the grid reports a free slot for the browser.
+ * Free slots are read from the hub's /status endpoint; requests already granted by this JVM
+ * but not yet turned into sessions are subtracted, so parallel threads do not all rush the
+ * same slot. While the grid is full, callers wait with exponential backoff instead of failing.
+ */
+public class GridSlotScheduler {
+
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    private static int pendingRequests;
+
+    private GridSlotScheduler() {}
+
+    /**
+     * Blocks until the grid has a free slot for the browser or the timeout passes.
+     * Every successful call must be paired with {@link #release()} once the session request completes.
+     * If the status endpoint cannot be read, the request is let through. An interrupt while waiting
+     * surfaces as a RuntimeException with the interrupt flag set.
+     */
+    public static void acquire(URL statusUrl, String browserName, Duration timeout) {
+        long start = System.currentTimeMillis();
+        boolean[] waited = {false};
+        Boolean acquired = Waiter.of("grid.slot")
+                .timeout(timeout)
+                .backoff(Duration.ofMillis(MIN_BACKOFF_MILLIS), Duration.ofMillis(MAX_BACKOFF_MILLIS))
+                .untilOrNull(() -> {
+                    int free = countFreeSlots(statusUrl, browserName);
+                    synchronized (GridSlotScheduler.class) {
+                        if (free < 0 || free - pendingRequests > 0) {
+                            pendingRequests++;
+                            return true;
+                        }
+                    }
+                    if (!waited[0]) {
+                        LogUtil.info("Grid has no free " + browserName + " slot, waiting");
+                        waited[0] = true;
+                    }
+                    return false;
+                });
+        if (acquired == null) {
+            throw new RuntimeException("No free " + browserName + " slot on the grid within " + timeout.getSeconds() + " seconds");
+        }
+        if (waited[0]) {
+            long waitMillis = System.currentTimeMillis() - start;
+            RunMetrics.add("remote.slot.wait.ms", waitMillis);
+            LogUtil.info("Grid slot for " + browserName + " became available after " + waitMillis + " ms");
+        }
+    }
+
+    /**
+     * Gives back a slot granted by {@link #acquire}, whether or not the session was created
+     */
+    public static void release() {
+        synchronized (GridSlotScheduler.class) {
+            pendingRequests = Math.max(0, pendingRequests - 1);
+        }
+    }
+
+    /**
+     * Returns the number of free slots for the browser on nodes that are UP, or -1 if the status is unavailable
+     */
+    @SuppressWarnings("unchecked")
+    static int countFreeSlots(URL statusUrl, String browserName) {
+        try {
+            // Base the client at the server root and send the full status path, so it is the hub's shared client
+            URL serverRoot = new URL(statusUrl.getProtocol(), statusUrl.getHost(), statusUrl.getPort(), "");
+            ClientConfig config = SharedHttpClientFactory.clientConfig(serverRoot);
+            HttpClient client = SharedHttpClientFactory.getInstance().createClient(config);
+            HttpResponse response = client.execute(new HttpRequest(HttpMethod.GET, statusUrl.getPath()));
+            if (response.getStatus() != 200) {
+                LogUtil.warn("Grid status returned HTTP " + response.getStatus());
+                return -1;
+            }
+            Map<String, Object> status = new Json().toType(Contents.string(response), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            Collection<Map<String, Object>> nodes = value == null ? null : (Collection<Map<String, Object>>) value.get("nodes");
+            if (nodes == null) {
+                // Standalone servers and older hubs only report readiness
+                return value != null && Boolean.TRUE.equals(value.get("ready")) ? 1 : 0;
+            }
+            int free = 0;
+            for (Map<String, Object> node : nodes) {
+                if (!"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                Collection<Map<String, Object>> slots = (Collection<Map<String, Object>>) node.get("slots");
+                if (slots == null) {
+                    continue;
+                }
+                for (Map<String, Object> slot : slots) {
+                    Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                    boolean matches = stereotype != null && browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")));
+                    if (matches && slot.get("session") == null) {
+                        free++;
+                    }
+                }
+            }
+            return free;
+        } catch (Exception e) {
+            LogUtil.warn("Could not read grid status from " + statusUrl + ": " + e.getMessage());
+            return -1;
+        }
+    }
+}
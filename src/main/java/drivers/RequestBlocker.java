@@ -0,0 +1,331 @@
+package drivers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks third-party, ad and media requests in Chromium sessions through the DevTools Fetch domain.
+ * Requests matching a blocked resource type or URL pattern are failed before they leave the
+ * browser unless they match the allowlist. The default profile comes from config.properties and
+ * can be overridden per scenario with tags:
+ *   @blocking=off          disable blocking for the scenario
+ *   @block=Image,Font      replace the blocked resource types
+ *   @allow=*pattern*       add an allowlist URL pattern
+ * Fetch interception is per tab and Selenium's DevTools client holds a single session, so blocking
+ * covers one tab at a time: it follows the tab selected through {@link #follow} (called by
+ * CommonMethods.switchToWindow and openNewTab). Requests from other tabs are not blocked or counted.
+ */
+public class RequestBlocker {
+
+    private static final Map<String, Long> DEFAULT_BYTES_PER_TYPE = new HashMap<>();
+    private static final Map<WebDriver, BlockingState> states = new ConcurrentHashMap<>();
+
+    static {
+        DEFAULT_BYTES_PER_TYPE.put("Image", 40_000L);
+        DEFAULT_BYTES_PER_TYPE.put("Media", 500_000L);
+        DEFAULT_BYTES_PER_TYPE.put("Font", 40_000L);
+        DEFAULT_BYTES_PER_TYPE.put("Script", 60_000L);
+        DEFAULT_BYTES_PER_TYPE.put("Stylesheet", 30_000L);
+    }
+
+    private RequestBlocker() {}
+
+    /**
+     * Resource types, URL patterns and allowlist in effect for a driver
+     */
+    public static class BlockingProfile {
+        private final boolean enabled;
+        private final Set<String> resourceTypes;
+        private final List<String> urlPatterns;
+        private final List<String> allowPatterns;
+        private final List<Pattern> allowRegexes;
+
+        BlockingProfile(boolean enabled, Set<String> resourceTypes, List<String> urlPatterns, List<String> allowPatterns) {
+            this.enabled = enabled;
+            this.resourceTypes = resourceTypes;
+            this.urlPatterns = urlPatterns;
+            this.allowPatterns = allowPatterns;
+            this.allowRegexes = allowPatterns.stream().map(RequestBlocker::globToRegex).collect(Collectors.toList());
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        boolean isAllowed(String url) {
+            for (Pattern allow : allowRegexes) {
+                if (allow.matcher(url).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof BlockingProfile)) {
+                return false;
+            }
+            BlockingProfile that = (BlockingProfile) other;
+            return enabled == that.enabled && resourceTypes.equals(that.resourceTypes)
+                    && urlPatterns.equals(that.urlPatterns) && allowPatterns.equals(that.allowPatterns);
+        }
+
+        @Override
+        public int hashCode() {
+            return resourceTypes.hashCode() * 31 + urlPatterns.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return enabled ? "types=" + resourceTypes + ", urls=" + urlPatterns + ", allow=" + allowPatterns : "disabled";
+        }
+    }
+
+    private static class BlockingState {
+        private final DevTools devTools;
+        private volatile BlockingProfile profile;
+        private volatile String windowHandle;
+        private final Map<String, AtomicLong> blockedByType = new ConcurrentHashMap<>();
+        private final AtomicLong blockedBytes = new AtomicLong();
+
+        BlockingState(DevTools devTools) {
+            this.devTools = devTools;
+        }
+    }
+
+    /**
+     * Installs the request listener on a newly created Chromium driver and applies the default profile
+     */
+    public static void install(WebDriver driver) {
+        if (!ConfigReader.isRequestBlockingEnabled() || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            BlockingState state = new BlockingState(devTools);
+            // Attach to the driver's own tab; in context mode the host Chrome also holds other scenarios' tabs
+            attach(state, driver.getWindowHandle());
+            devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                    event -> onRequestPaused(state, event));
+            states.put(driver, state);
+            apply(state, defaultProfile());
+        } catch (Exception e) {
+            LogUtil.warn("Request blocking could not be installed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the default profile adjusted by the scenario's tags and resets the per-scenario counters
+     */
+    public static void applyForScenario(WebDriver driver, Collection<String> tags) {
+        BlockingState state = states.get(driver);
+        if (state == null) {
+            return;
+        }
+        state.blockedByType.clear();
+        state.blockedBytes.set(0);
+        BlockingProfile profile = profileForTags(tags);
+        if (!profile.equals(state.profile)) {
+            apply(state, profile);
+        }
+    }
+
+    /**
+     * Returns a one-line summary of what was blocked since the scenario started, or null if blocking is inactive
+     */
+    public static String getScenarioSummary(WebDriver driver) {
+        BlockingState state = states.get(driver);
+        if (state == null || state.profile == null || !state.profile.isEnabled()) {
+            return null;
+        }
+        long total = state.blockedByType.values().stream().mapToLong(AtomicLong::get).sum();
+        return "Blocked " + total + " requests " + state.blockedByType
+                + ", ~" + (state.blockedBytes.get() / 1024) + " KB saved (estimated)";
+    }
+
+    /**
+     * Moves blocking to the driver's current tab if the driver switched tabs since blocking was attached
+     */
+    public static void follow(WebDriver driver) {
+        BlockingState state = states.get(driver);
+        if (state == null) {
+            return;
+        }
+        try {
+            if (!driver.getWindowHandle().equals(state.windowHandle)) {
+                reattach(driver);
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Request blocking could not follow the current tab: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the DevTools session to the driver's current tab after its target changed
+     * (e.g. a context driver got a new browser context) and re-applies the active profile
+     */
+    public static void reattach(WebDriver driver) {
+        BlockingState state = states.get(driver);
+        if (state == null) {
+            return;
+        }
+        try {
+            attach(state, driver.getWindowHandle());
+            BlockingProfile profile = state.profile;
+            if (profile != null) {
+                apply(state, profile);
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Request blocking could not be re-attached: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops blocking state for a driver that is being quit
+     */
+    public static void uninstall(WebDriver driver) {
+        states.remove(driver);
+    }
+
+    private static void attach(BlockingState state, String windowHandle) {
+        if (state.windowHandle != null) {
+            // Detaching releases the previous tab's interception, so none of its requests stay paused
+            state.devTools.disconnectSession();
+        }
+        state.devTools.createSession(windowHandle);
+        state.windowHandle = windowHandle;
+    }
+
+    private static void apply(BlockingState state, BlockingProfile profile) {
+        try {
+            if (!profile.isEnabled()) {
+                state.devTools.send(new Command<Void>("Fetch.disable", Collections.emptyMap()));
+            } else {
+                List<Map<String, Object>> patterns = new ArrayList<>();
+                for (String type : profile.resourceTypes) {
+                    Map<String, Object> pattern = new HashMap<>();
+                    pattern.put("urlPattern", "*");
+                    pattern.put("resourceType", type);
+                    pattern.put("requestStage", "Request");
+                    patterns.add(pattern);
+                }
+                for (String url : profile.urlPatterns) {
+                    Map<String, Object> pattern = new HashMap<>();
+                    pattern.put("urlPattern", url);
+                    pattern.put("requestStage", "Request");
+                    patterns.add(pattern);
+                }
+                Map<String, Object> params = new HashMap<>();
+                params.put("patterns", patterns);
+                state.devTools.send(new Command<Void>("Fetch.enable", params));
+            }
+            state.profile = profile;
+            LogUtil.info("Request blocking profile applied: " + profile);
+        } catch (Exception e) {
+            LogUtil.warn("Failed to apply request blocking profile: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void onRequestPaused(BlockingState state, Map<String, Object> event) {
+        String requestId = String.valueOf(event.get("requestId"));
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        String url = request == null ? "" : String.valueOf(request.get("url"));
+        String type = String.valueOf(event.get("resourceType"));
+        BlockingProfile profile = state.profile;
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", requestId);
+        try {
+            if (profile == null || !profile.isEnabled() || profile.isAllowed(url)) {
+                state.devTools.send(new Command<Void>("Fetch.continueRequest", params));
+                return;
+            }
+            params.put("errorReason", "BlockedByClient");
+            state.devTools.send(new Command<Void>("Fetch.failRequest", params));
+
+            long bytes = estimatedBytes(type);
+            state.blockedByType.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+            state.blockedBytes.addAndGet(bytes);
+            RunMetrics.increment("request.blocked.count");
+            RunMetrics.add("request.blocked.bytes.estimated", bytes);
+        } catch (Exception e) {
+            LogUtil.debug("Could not resolve paused request " + url + ": " + e.getMessage());
+        }
+    }
+
+    private static long estimatedBytes(String type) {
+        String configured = ConfigReader.getProperty("request.blocking.bytes.estimate." + type);
+        if (configured != null) {
+            return Long.parseLong(configured);
+        }
+        return DEFAULT_BYTES_PER_TYPE.getOrDefault(type, 5_000L);
+    }
+
+    private static BlockingProfile defaultProfile() {
+        return new BlockingProfile(true,
+                new LinkedHashSet<>(splitList(ConfigReader.getProperty("request.blocking.resource.types", ""))),
+                splitList(ConfigReader.getProperty("request.blocking.url.patterns", "")),
+                splitList(ConfigReader.getProperty("request.blocking.allow.patterns", "")));
+    }
+
+    private static BlockingProfile profileForTags(Collection<String> tags) {
+        BlockingProfile defaults = defaultProfile();
+        Set<String> types = defaults.resourceTypes;
+        List<String> allow = new ArrayList<>(defaults.allowPatterns);
+        for (String tag : tags) {
+            if (tag.equalsIgnoreCase("@blocking=off")) {
+                return new BlockingProfile(false, Collections.emptySet(), Collections.emptyList(), Collections.emptyList());
+            } else if (tag.startsWith("@block=")) {
+                types = new LinkedHashSet<>(splitList(tag.substring("@block=".length())));
+            } else if (tag.startsWith("@allow=")) {
+                allow.add(tag.substring("@allow=".length()));
+            }
+        }
+        return new BlockingProfile(true, types, defaults.urlPatterns, allow);
+    }
+
+    private static List<String> splitList(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
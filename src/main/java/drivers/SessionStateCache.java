@@ -0,0 +1,231 @@
+package drivers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves and restores named browser session states (cookies plus localStorage/sessionStorage
+ * of one origin) so scenarios tagged @session=name skip the UI flow that produces them.
+ * The first scenario for a state runs the flow normally; if it passes, its state is captured to
+ * session.state.dir with an expiry of session.state.ttl.minutes. Later scenarios get the state
+ * injected before their first navigation. State files contain live session cookies and must not
+ * be committed or shared.
+ */
+public class SessionStateCache {
+
+    private static final Set<String> CDP_COOKIE_FIELDS = new HashSet<>(Arrays.asList(
+            "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires"));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ThreadLocal<String> pendingCapture = new ThreadLocal<>();
+    private static final Map<WebDriver, List<String>> injectedScripts = new ConcurrentHashMap<>();
+
+    private SessionStateCache() {}
+
+    /**
+     * Injects the named state into the driver before its first navigation. When the state is missing
+     * or expired, it is marked for capture at the end of the current scenario instead.
+     * Returns true if the state was injected.
+     */
+    public static boolean restoreOrMarkForCapture(WebDriver driver, String name) {
+        Map<String, Object> state = load(name);
+        if (state == null) {
+            pendingCapture.set(name);
+            RunMetrics.increment("session.state.misses");
+            LogUtil.info("No valid session state '" + name + "', it will be captured after this scenario");
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            inject(driver, state);
+            RunMetrics.increment("session.state.hits");
+            LogUtil.info("Injected session state '" + name + "' in " + (System.currentTimeMillis() - start) + " ms");
+            return true;
+        } catch (Exception e) {
+            LogUtil.warn("Failed to inject session state '" + name + "', capturing it again: " + e.getMessage());
+            pendingCapture.set(name);
+            return false;
+        }
+    }
+
+    /**
+     * Captures the current thread's pending state from the driver, if any. Call only for passed scenarios.
+     */
+    public static void captureIfPending(WebDriver driver) {
+        String name = pendingCapture.get();
+        if (name == null) {
+            return;
+        }
+        pendingCapture.remove();
+        try {
+            save(name, capture(driver));
+            LogUtil.info("Captured session state '" + name + "'");
+        } catch (Exception e) {
+            LogUtil.warn("Failed to capture session state '" + name + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops a pending capture, e.g. when the scenario failed
+     */
+    public static void clearPending() {
+        pendingCapture.remove();
+    }
+
+    /**
+     * Removes storage seeding scripts from a driver before it is reused for another scenario
+     */
+    public static void forget(WebDriver driver) {
+        List<String> identifiers = injectedScripts.remove(driver);
+        if (identifiers == null || !(driver instanceof HasCdp)) {
+            return;
+        }
+        for (String identifier : identifiers) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("identifier", identifier));
+            } catch (Exception e) {
+                // The target the script was registered on is already gone
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> capture(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp) {
+            List<Map<String, Object>> all = (List<Map<String, Object>>) ((HasCdp) driver)
+                    .executeCdpCommand("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+            for (Map<String, Object> cookie : all) {
+                Map<String, Object> kept = new LinkedHashMap<>(cookie);
+                kept.keySet().retainAll(CDP_COOKIE_FIELDS);
+                if (Boolean.TRUE.equals(cookie.get("session"))) {
+                    kept.remove("expires");
+                }
+                cookies.add(kept);
+            }
+        } else {
+            for (Cookie cookie : driver.manage().getCookies()) {
+                Map<String, Object> kept = new LinkedHashMap<>();
+                kept.put("name", cookie.getName());
+                kept.put("value", cookie.getValue());
+                kept.put("domain", cookie.getDomain());
+                kept.put("path", cookie.getPath());
+                kept.put("secure", cookie.isSecure());
+                kept.put("httpOnly", cookie.isHttpOnly());
+                if (cookie.getExpiry() != null) {
+                    kept.put("expires", cookie.getExpiry().getTime() / 1000.0);
+                }
+                cookies.add(kept);
+            }
+        }
+
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                "var dump = function (s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+                        + "return { origin: location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage) };");
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        state.put("capturedAt", now);
+        state.put("expiresAt", now + ConfigReader.getSessionStateTtlMinutes() * 60_000L);
+        state.put("origin", storage.get("origin"));
+        state.put("cookies", cookies);
+        state.put("localStorage", storage.get("local"));
+        state.put("sessionStorage", storage.get("session"));
+        return state;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void inject(WebDriver driver, Map<String, Object> state) throws Exception {
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) state.get("cookies");
+        String origin = String.valueOf(state.get("origin"));
+        String storageScript = "(function (local, session) {"
+                + " if (location.origin !== " + MAPPER.writeValueAsString(origin) + ") return;"
+                + " try { if (sessionStorage.getItem('__sessionStateSeeded')) return;"
+                + " Object.keys(local).forEach(function (k) { localStorage.setItem(k, local[k]); });"
+                + " Object.keys(session).forEach(function (k) { sessionStorage.setItem(k, session[k]); });"
+                + " sessionStorage.setItem('__sessionStateSeeded', '1'); } catch (e) {}"
+                + " })(" + MAPPER.writeValueAsString(state.get("localStorage")) + ", "
+                + MAPPER.writeValueAsString(state.get("sessionStorage")) + ");";
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.setCookies", Collections.singletonMap("cookies", cookies));
+            Map<String, Object> script = new HashMap<>();
+            script.put("source", storageScript);
+            Object identifier = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", script).get("identifier");
+            injectedScripts.computeIfAbsent(driver, key -> new ArrayList<>()).add(String.valueOf(identifier));
+            return;
+        }
+
+        // Without DevTools cookies can only be set on a page of their domain, which costs one extra load
+        driver.get(origin);
+        for (Map<String, Object> cookie : cookies) {
+            Cookie.Builder builder = new Cookie.Builder(String.valueOf(cookie.get("name")), String.valueOf(cookie.get("value")))
+                    .domain(String.valueOf(cookie.get("domain")))
+                    .path(String.valueOf(cookie.get("path")))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+            if (cookie.get("expires") instanceof Number) {
+                builder.expiresOn(new Date((long) (((Number) cookie.get("expires")).doubleValue() * 1000)));
+            }
+            driver.manage().addCookie(builder.build());
+        }
+        ((JavascriptExecutor) driver).executeScript(storageScript);
+    }
+
+    private static Map<String, Object> load(String name) {
+        File file = stateFile(name);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            Map<String, Object> state = MAPPER.readValue(file, new TypeReference<Map<String, Object>>() {});
+            Object expiresAt = state.get("expiresAt");
+            if (!(expiresAt instanceof Number) || ((Number) expiresAt).longValue() <= System.currentTimeMillis()) {
+                LogUtil.info("Session state '" + name + "' has expired");
+                return null;
+            }
+            return state;
+        } catch (Exception e) {
+            LogUtil.warn("Failed to read session state '" + name + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void save(String name, Map<String, Object> state) throws Exception {
+        File file = stateFile(name);
+        Files.createDirectories(file.getParentFile().toPath());
+        Path temp = Files.createTempFile(file.getParentFile().toPath(), "session-state-", ".tmp");
+        MAPPER.writeValue(temp.toFile(), state);
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static File stateFile(String name) {
+        return new File(ConfigReader.getSessionStateDir(), name.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+}
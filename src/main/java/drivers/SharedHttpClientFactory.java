@@ -0,0 +1,138 @@
+package drivers;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import config.ConfigReader;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HttpClient factory for RemoteWebDriver that shares one keep-alive client per hub and client settings.
+ * By default every RemoteWebDriver opens its own client and connection pool; sharing the client lets
+ * all sessions reuse pooled connections to the hub. Clients are keyed on scheme://host:port and based
+ * at the server root, so the session endpoint (e.g. /wd/hub) and the /status endpoint share one pool;
+ * each handed-out client prefixes relative request paths with the path of its own base URL.
+ * Clients handed out ignore close() so quitting one session does not tear down connections used by
+ * the others; they are closed in shutdown().
+ */
+public class SharedHttpClientFactory implements HttpClient.Factory {
+
+    private static final SharedHttpClientFactory INSTANCE = new SharedHttpClientFactory();
+
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    private SharedHttpClientFactory() {}
+
+    public static SharedHttpClientFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Client settings for the hub at the given base URL, from the remote.http.* properties
+     */
+    public static ClientConfig clientConfig(URL baseUrl) {
+        ClientConfig config = ClientConfig.defaultConfig()
+                .baseUrl(baseUrl)
+                .connectionTimeout(Duration.ofSeconds(ConfigReader.getRemoteConnectTimeout()))
+                .readTimeout(Duration.ofSeconds(ConfigReader.getRemoteReadTimeout()));
+        String version = ConfigReader.getRemoteHttpVersion();
+        return version.isEmpty() ? config : config.version(version);
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        URI base = config.baseUri();
+        URI root = URI.create(base.getScheme() + "://" + base.getRawAuthority());
+        String key = root + "|" + config.connectionTimeout() + "|" + config.readTimeout() + "|" + config.version();
+        HttpClient client = clients.computeIfAbsent(key, ignored -> {
+            RunMetrics.increment("remote.http.clients");
+            LogUtil.info("Creating shared HTTP client for " + root + " (version " + config.version() + ")");
+            return delegate.createClient(config.baseUri(root));
+        });
+        String path = base.getRawPath() == null ? "" : base.getRawPath().replaceAll("/+$", "");
+        return new NonClosingHttpClient(client, path);
+    }
+
+    @Override
+    public void cleanupIdleClients() {
+        delegate.cleanupIdleClients();
+    }
+
+    /**
+     * Closes all shared clients. Called once all remote sessions have been quit.
+     */
+    public void shutdown() {
+        clients.values().forEach(client -> {
+            try {
+                client.close();
+            } catch (Exception e) {
+                LogUtil.warn("Failed to close shared HTTP client: " + e.getMessage());
+            }
+        });
+        clients.clear();
+    }
+
+    private static class NonClosingHttpClient implements HttpClient {
+        private final HttpClient delegate;
+        private final String pathPrefix;
+
+        NonClosingHttpClient(HttpClient delegate, String pathPrefix) {
+            this.delegate = delegate;
+            this.pathPrefix = pathPrefix;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(prefixed(request));
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+            return delegate.executeAsync(prefixed(request));
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(prefixed(request), listener);
+        }
+
+        /**
+         * Resolves a relative request path against this client's base path, since the shared client is based at the root
+         */
+        private HttpRequest prefixed(HttpRequest request) {
+            String uri = request.getUri();
+            if (pathPrefix.isEmpty() || uri.contains("://")) {
+                return request;
+            }
+            HttpRequest copy = new HttpRequest(request.getMethod(), pathPrefix + (uri.startsWith("/") ? uri : "/" + uri));
+            request.forEachHeader(copy::addHeader);
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    copy.addQueryParameter(name, value);
+                }
+            }
+            for (String name : request.getAttributeNames()) {
+                copy.setAttribute(name, request.getAttribute(name));
+            }
+            copy.setContent(request.getContent());
+            return copy;
+        }
+
+        @Override
+        public void close() {
+            // Shared with other sessions; closed by SharedHttpClientFactory.shutdown()
+        }
+    }
+}
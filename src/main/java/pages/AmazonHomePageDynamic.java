@@ -1,9 +1,15 @@
 package pages;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.LogUtil;
 import common.CommonMethods;
+import common.ElementProbe;
 import xpath.AmazonHomePageXpath;
 
+import java.util.List;
+
 public class AmazonHomePageDynamic extends BasePage implements AmazonHomePageXpath {
 
     // Constructor - No PageFactory needed!
@@ -11,16 +17,37 @@ public class AmazonHomePageDynamic extends BasePage implements AmazonHomePageXpa
         // No PageFactory.initElements() required
     }
 
+    // Ready once the search box can take input; either the box or the interstitial must be present
+    @Override
+    protected ExpectedCondition<?> readinessCondition() {
+        return ExpectedConditions.or(
+                ExpectedConditions.elementToBeClickable(CommonMethods.LocatorBuilder.id(SEARCH_BOX)),
+                ExpectedConditions.presenceOfElementLocated(CommonMethods.LocatorBuilder.xpath(CONTINUE_SHOPPING)));
+    }
+
     // Dynamic Element Access Methods
     public void waitForHomepageToLoad() {
         try {
             LogUtil.info("Waiting for Amazon homepage to load");
+            waitUntilReady();
 
-            if(CommonMethods.isElementVisible(CommonMethods.LocatorBuilder.xpath(CONTINUE_SHOPPING))){
-                CommonMethods.smartClick(CommonMethods.LocatorBuilder.xpath(CONTINUE_SHOPPING));
+            By continueShopping = CommonMethods.LocatorBuilder.xpath(CONTINUE_SHOPPING);
+            By searchBox = CommonMethods.LocatorBuilder.id(SEARCH_BOX);
+            By logo = CommonMethods.LocatorBuilder.id(AMAZON_LOGO);
+
+            // One zero-wait probe for the optional interstitial and both landmarks
+            List<ElementProbe.Result> state = CommonMethods.probeAll(continueShopping, searchBox, logo);
+            if (state.get(0).isVisible()) {
+                CommonMethods.smartClick(continueShopping);
+                state = CommonMethods.probeAll(continueShopping, searchBox, logo);
+            }
+            // Only wait for landmarks that are not on screen yet
+            if (!state.get(1).isVisible()) {
+                CommonMethods.waitForElementToBeVisible(searchBox);
+            }
+            if (!state.get(2).isVisible()) {
+                CommonMethods.waitForElementToBeVisible(logo);
             }
-            CommonMethods.waitForElementToBeVisible(CommonMethods.LocatorBuilder.id(SEARCH_BOX));
-            CommonMethods.waitForElementToBeVisible(CommonMethods.LocatorBuilder.id(AMAZON_LOGO));
             LogUtil.info("Amazon homepage loaded successfully");
         } catch (Exception e) {
             LogUtil.error("Failed to wait for homepage to load: " + e.getMessage());
@@ -44,7 +71,9 @@ public class AmazonHomePageDynamic extends BasePage implements AmazonHomePageXpa
             LogUtil.info("Clicking search button");
             CommonMethods.smartClick(CommonMethods.LocatorBuilder.id(SEARCH_BUTTON));
             LogUtil.info("Search button clicked successfully");
-            return new AmazonSearchResultsPageDynamic();
+            AmazonSearchResultsPageDynamic searchResultsPage = PageObjectManager.getAmazonSearchResultsPage();
+            searchResultsPage.waitUntilReady();
+            return searchResultsPage;
         } catch (Exception e) {
             LogUtil.error("Failed to click search button: " + e.getMessage());
             throw e;
@@ -57,8 +86,9 @@ public class AmazonHomePageDynamic extends BasePage implements AmazonHomePageXpa
     }
 
     public boolean isHomepageDisplayed() {
-        return CommonMethods.isElementVisible(CommonMethods.LocatorBuilder.id(SEARCH_BOX)) &&
-               CommonMethods.isElementVisible(CommonMethods.LocatorBuilder.id(AMAZON_LOGO));
+        List<ElementProbe.Result> state = CommonMethods.probeAll(CommonMethods.LocatorBuilder.id(SEARCH_BOX),
+                CommonMethods.LocatorBuilder.id(AMAZON_LOGO));
+        return state.get(0).isVisible() && state.get(1).isVisible();
     }
 
     public boolean doesPageTitleContain(String expectedText) {
@@ -1,5 +1,7 @@
 package pages;
 
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.LogUtil;
 import utils.ExtentManager;
 import xpath.AmazonProductPageXPath;
@@ -14,6 +16,12 @@ public class AmazonProductPageDynamic extends BasePage implements AmazonProductP
         // No PageFactory.initElements() required
     }
 
+    // Ready once the product title is visible; price and buy box are checked by the steps themselves
+    @Override
+    protected ExpectedCondition<?> readinessCondition() {
+        return ExpectedConditions.visibilityOfElementLocated(CommonMethods.LocatorBuilder.id(PRODUCT_TITLE));
+    }
+
     // Dynamic Element Access Methods
     public boolean areProductDetailsDisplayed() {
         try {
@@ -53,7 +61,7 @@ public class AmazonProductPageDynamic extends BasePage implements AmazonProductP
     public void addProductToCart() {
         try {
             LogUtil.info("Adding product to cart");
-            CommonMethods.scrollToElement(CommonMethods.LocatorBuilder.css(ADD_TO_CART_BUTTON));
+            // smartClick scrolls the button into view in the same script call that checks and clicks it
             CommonMethods.smartClick(CommonMethods.LocatorBuilder.css(ADD_TO_CART_BUTTON));
             LogUtil.info("Product added to cart successfully");
         } catch (Exception e) {
@@ -3,20 +3,76 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.LogUtil;
+import utils.RunMetrics;
 import xpath.AmazonSearchResultsPageXPath;
 import common.CommonMethods;
+import common.ElementCache;
+import common.LocatorRegistry;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSearchResultsPageXPath {
 
+    // Reads every result card in one pass; skips extraction when the page and its DOM version are unchanged
+    private static final String EXTRACT_RESULTS_SCRIPT = ElementCache.domVersionScript(
+            "var s = arguments[0];"
+            + " if (version === arguments[1] && location.href === arguments[2]) { return [version, location.href, null]; }"
+            + " var read = function (card, selector) {"
+            + "   var el = card.querySelector(selector);"
+            + "   return el ? (el.getAttribute('aria-label') || el.textContent) : null;"
+            + " };"
+            + " var items = [];"
+            + " document.querySelectorAll(s.card).forEach(function (card) {"
+            + "   var asin = card.getAttribute('data-asin');"
+            + "   if (!asin) { return; }"
+            + "   var link = card.querySelector(s.link);"
+            + "   items.push({ asin: asin, title: read(card, s.title), price: read(card, s.price), rating: read(card, s.rating),"
+            + "     reviews: read(card, s.reviews), sponsored: !!card.querySelector(s.sponsored), link: link ? link.href : null });"
+            + " });"
+            + " return [version, location.href, items];");
+
+    private static final Map<String, String> RESULT_SELECTORS = new HashMap<>();
+
+    static {
+        RESULT_SELECTORS.put("card", SEARCH_RESULT);
+        RESULT_SELECTORS.put("title", RESULT_TITLE);
+        RESULT_SELECTORS.put("link", RESULT_LINK);
+        RESULT_SELECTORS.put("price", RESULT_PRICE);
+        RESULT_SELECTORS.put("rating", RESULT_RATING);
+        RESULT_SELECTORS.put("reviews", RESULT_REVIEW_COUNT);
+        RESULT_SELECTORS.put("sponsored", RESULT_SPONSORED);
+    }
+
+    // Dynamic locators compiled once; each brand, index or title is formatted only on first use
+    private static final LocatorRegistry.Template BRAND_CHECKBOX = LocatorRegistry.compile(BRAND_CHECKBOX_PATTERN);
+    private static final LocatorRegistry.Template PRODUCT_BY_INDEX = LocatorRegistry.compile(PRODUCT_BY_INDEX_PATTERN);
+    private static final LocatorRegistry.Template PRODUCT_BY_TITLE = LocatorRegistry.compile(PRODUCT_BY_TITLE_PATTERN);
+    private static final LocatorRegistry.Template ACTIVE_FILTER = LocatorRegistry.compile(ACTIVE_FILTER_PATTERN);
+    private static final LocatorRegistry.Template REMOVE_FILTER = LocatorRegistry.compile(REMOVE_FILTER_PATTERN);
+
+    private String itemsVersion;
+    private String itemsUrl;
+    private List<SearchResultItem> items = Collections.emptyList();
+
     // Constructor - No PageFactory needed!
     public AmazonSearchResultsPageDynamic() {
         // No PageFactory.initElements() required
     }
 
+    // Ready as soon as the first search result card is rendered
+    @Override
+    protected ExpectedCondition<?> readinessCondition() {
+        return ExpectedConditions.visibilityOfElementLocated(CommonMethods.LocatorBuilder.css(SEARCH_RESULT));
+    }
+
     // Dynamic Element Access Methods
     public boolean areSearchResultsDisplayed() {
         try {
@@ -45,13 +101,12 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             CommonMethods.scrollToElement(CommonMethods.LocatorBuilder.id(FILTERS_SECTION));
 
             // Click brand checkbox using dynamic locator
-            String brandCheckboxXPath = String.format(BRAND_CHECKBOX_PATTERN, brandName);
+            By brandCheckbox = BRAND_CHECKBOX.with(brandName);
 
-           if (!CommonMethods.isElementSelected(brandCheckboxXPath)) {
-                CommonMethods.smartClick(brandCheckboxXPath);
+            if (!CommonMethods.isElementSelected(brandCheckbox)) {
+                CommonMethods.performAndWaitForPageToSettle("brand filter " + brandName, () -> CommonMethods.smartClick(brandCheckbox));
             }
 
-            waitForResults();
             LogUtil.info("Brand filter applied successfully for: " + brandName);
         } catch (Exception e) {
             LogUtil.error("Failed to apply brand filter: " + e.getMessage());
@@ -70,11 +125,11 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             CommonMethods.updateInputValueByXPath(MAX_PRICE_INPUT, maxPrice);
 
             // Click Go button
-            CommonMethods.smartClick(PRICE_GO_BUTTON);
+            CommonMethods.performAndWaitForPageToSettle("price filter " + minPrice + "-" + maxPrice,
+                    () -> CommonMethods.smartClick(PRICE_GO_BUTTON));
 
             CommonMethods.refreshPage();
-
-            waitForResults();
+            CommonMethods.waitForPageToSettle("price filter refresh");
             LogUtil.info("Price filter set successfully");
         } catch (Exception e) {
             LogUtil.error("Failed to set price filter: " + e.getMessage());
@@ -86,28 +141,23 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
         try {
             LogUtil.info("Verifying all products are within price range: " + minPrice + " - " + maxPrice);
 
-            // Get all price texts dynamically
-            List<String> priceTexts = CommonMethods.getAllTexts(CommonMethods.LocatorBuilder.css(PRICE_ELEMENTS));
+            long minPaise = Long.parseLong(minPrice.trim()) * 100;
+            long maxPaise = Long.parseLong(maxPrice.trim()) * 100;
 
             boolean allWithinRange = true;
             int checkedProducts = 0;
 
-            for (String priceText : priceTexts) {
-                try {
-                    String cleanPrice = priceText.replaceAll("[^0-9]", "");
-                    if (!cleanPrice.isEmpty()) {
-                        int price = Integer.parseInt(cleanPrice);
-                        if (price < Integer.parseInt(minPrice) || price > Integer.parseInt(maxPrice)) {
-                            LogUtil.warn("Product price " + price + " is outside range " + minPrice + "-" + maxPrice);
-                            allWithinRange = false;
-                        }
-                        checkedProducts++;
-                    }
-                } catch (NumberFormatException e) {
-                    LogUtil.warn("Could not parse price: " + priceText);
+            // Check every result on the page; cards without a price (e.g. unavailable products) are skipped
+            for (SearchResultItem item : getSearchResultItems()) {
+                if (!item.hasPrice()) {
+                    continue;
                 }
-
-                if (checkedProducts >= 10) break; // Check first 10 products
+                if (item.getPricePaise() < minPaise || item.getPricePaise() > maxPaise) {
+                    LogUtil.warn("Product price " + item.getPricePaise() / 100.0 + " is outside range " + minPrice + "-" + maxPrice
+                            + ": " + item);
+                    allWithinRange = false;
+                }
+                checkedProducts++;
             }
 
             LogUtil.info("Price range verification completed. Checked " + checkedProducts + " products. All within range: " + allWithinRange);
@@ -126,9 +176,9 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             CommonMethods.smartClick(SORT_DROPDOWN);
 
             // Select "Price: High to Low" option
-            CommonMethods.smartClick(PRICE_HIGH_TO_LOW_OPTION);
+            CommonMethods.performAndWaitForPageToSettle("sort by price high to low",
+                    () -> CommonMethods.smartClick(PRICE_HIGH_TO_LOW_OPTION));
 
-            waitForResults();
             LogUtil.info("Sorted by price high to low successfully");
         } catch (Exception e) {
             LogUtil.error("Failed to sort by price: " + e.getMessage());
@@ -154,15 +204,16 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
         try {
             LogUtil.info("Checking if search results are relevant to: " + searchTerm);
 
-            // Get all product titles dynamically
-            List<String> productTitles = CommonMethods.getAllTexts(CommonMethods.LocatorBuilder.css(PRODUCT_TITLES));
-
             int relevantProducts = 0;
-            int totalChecked = Math.min(productTitles.size(), 5); // Check first 5 products
+            int totalChecked = 0;
 
-            for (int i = 0; i < totalChecked; i++) {
-                String title = productTitles.get(i).toLowerCase();
-                if (title.contains(searchTerm.toLowerCase())) {
+            // Check every result that has a title
+            for (SearchResultItem item : getSearchResultItems()) {
+                if (item.getTitle() == null) {
+                    continue;
+                }
+                totalChecked++;
+                if (item.getTitle().toLowerCase().contains(searchTerm.toLowerCase())) {
                     relevantProducts++;
                 }
             }
@@ -203,7 +254,9 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             }
 
             LogUtil.info("Switched to new window successfully");
-            return new AmazonProductPageDynamic();
+            AmazonProductPageDynamic productPage = PageObjectManager.getAmazonProductPage();
+            productPage.waitUntilReady();
+            return productPage;
         } catch (Exception e) {
             LogUtil.error("Failed to switch to new window: " + e.getMessage());
             throw e;
@@ -228,6 +281,31 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
         }
     }
 
+    /**
+     * Returns all product cards on the current results page, extracted in one script call.
+     * The list is reused until the page URL or its DOM changes.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchResultItem> getSearchResultItems() {
+        long start = System.currentTimeMillis();
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(
+                EXTRACT_RESULTS_SCRIPT, RESULT_SELECTORS, itemsVersion, itemsUrl);
+        if (result.get(2) == null) {
+            RunMetrics.increment("search.results.cache.hits");
+            return items;
+        }
+        List<SearchResultItem> extracted = new ArrayList<>();
+        for (Object raw : (List<Object>) result.get(2)) {
+            extracted.add(SearchResultItem.fromRaw(extracted.size(), (Map<?, ?>) raw));
+        }
+        itemsVersion = String.valueOf(result.get(0));
+        itemsUrl = String.valueOf(result.get(1));
+        items = Collections.unmodifiableList(extracted);
+        RunMetrics.increment("search.results.extractions");
+        LogUtil.info("Extracted " + items.size() + " search results in " + (System.currentTimeMillis() - start) + " ms");
+        return items;
+    }
+
     public List<String> getAllProductTitles() {
         try {
             LogUtil.info("Getting all product titles");
@@ -253,8 +331,7 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             LogUtil.info("Clicking on product at index: " + index);
 
             // Dynamic locator for nth product
-            String productLocator = String.format("[data-component-type='s-search-result']:nth-child(%d) h2 a", index + 1);
-            CommonMethods.smartClick(productLocator);
+            CommonMethods.smartClick(PRODUCT_BY_INDEX.with(index + 1));
 
             LogUtil.info("Clicked on product at index " + index + " successfully");
         } catch (Exception e) {
@@ -268,8 +345,7 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             LogUtil.info("Clicking on product with title containing: " + productTitle);
 
             // Dynamic XPath to find product by title
-            String productLocator = String.format("//h2//span[contains(text(),'%s')]/ancestor::h2/a", productTitle);
-            CommonMethods.smartClick(productLocator);
+            CommonMethods.smartClick(PRODUCT_BY_TITLE.with(productTitle));
 
             LogUtil.info("Clicked on product with title: " + productTitle);
         } catch (Exception e) {
@@ -283,8 +359,7 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             LogUtil.info("Checking if filter is applied: " + filterName);
 
             // Dynamic locator to check if filter is active
-            String activeFilterLocator = String.format("//span[contains(@class,'s-filter-applied') and contains(text(),'%s')]", filterName);
-            boolean isApplied = CommonMethods.isElementVisible(activeFilterLocator);
+            boolean isApplied = CommonMethods.probe(ACTIVE_FILTER.with(filterName)).isVisible();
 
             LogUtil.info("Filter '" + filterName + "' is applied: " + isApplied);
             return isApplied;
@@ -299,24 +374,13 @@ public class AmazonSearchResultsPageDynamic extends BasePage implements AmazonSe
             LogUtil.info("Removing filter: " + filterName);
 
             // Dynamic locator to find and click remove filter button
-            String removeFilterLocator = String.format("//span[contains(text(),'%s')]/following-sibling::*//i[contains(@class,'remove')]", filterName);
-            CommonMethods.smartClick(removeFilterLocator);
+            CommonMethods.performAndWaitForPageToSettle("remove filter " + filterName,
+                    () -> CommonMethods.smartClick(REMOVE_FILTER.with(filterName)));
 
-            waitForResults();
             LogUtil.info("Filter removed successfully: " + filterName);
         } catch (Exception e) {
             LogUtil.error("Failed to remove filter '" + filterName + "': " + e.getMessage());
             throw e;
         }
     }
-
-    // Utility method for waiting after actions
-    private void waitForResults() {
-        try {
-            Thread.sleep(2000); // Wait for 2 seconds for results to update
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LogUtil.warn("Thread interrupted while waiting for results: " + e.getMessage());
-        }
-    }
 }
@@ -3,31 +3,86 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import drivers.DriverFactory;
 import config.ConfigReader;
 import utils.LogUtil;
 import utils.ExtentManager;
+import utils.Waiter;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
 
+
 public class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
 
+    /**
+     * Whether a page class (including its superclasses) declares PageFactory-annotated fields.
+     * Computed once per class; pages without such fields skip PageFactory's reflective scan.
+     */
+    private static final ClassValue<Boolean> USES_PAGE_FACTORY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                            || field.isAnnotationPresent(FindAll.class)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    };
+
     public BasePage() {
         this.driver = DriverFactory.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
-        PageFactory.initElements(driver, this);
+        if (USES_PAGE_FACTORY.get(getClass())) {
+            PageFactory.initElements(driver, this);
+        }
+    }
+
+    /**
+     * Returns the page's explicit wait, creating it on first use
+     */
+    protected WebDriverWait getWait() {
+        if (wait == null) {
+            wait = new WebDriverWait(driver, ConfigReader.snapshot().getExplicitWaitDuration());
+        }
+        return wait;
+    }
+
+    /**
+     * Condition that must hold before steps interact with this page. With the eager or none page load
+     * strategy driver.get() returns before subresources finish, so pages override this with the
+     * elements their steps actually need. The default only requires the DOM to be parsed.
+     */
+    protected ExpectedCondition<?> readinessCondition() {
+        return webDriver -> !"loading".equals(((org.openqa.selenium.JavascriptExecutor) webDriver)
+                .executeScript("return document.readyState"));
+    }
+
+    /**
+     * Waits until this page's readiness condition holds
+     */
+    public void waitUntilReady() {
+        long start = System.currentTimeMillis();
+        getWait().until(readinessCondition());
+        LogUtil.info(getClass().getSimpleName() + " ready in " + (System.currentTimeMillis() - start) + " ms");
     }
 
     // Common page methods
     protected void click(WebElement element) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            getWait().until(ExpectedConditions.elementToBeClickable(element));
             element.click();
             LogUtil.info("Clicked on element: " + element.toString());
             ExtentManager.logAction("Click", getElementDescription(element));
@@ -40,7 +95,7 @@ public class BasePage {
 
     protected void sendKeys(WebElement element, String text) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            getWait().until(ExpectedConditions.visibilityOf(element));
             element.clear();
             element.sendKeys(text);
             LogUtil.info("Entered text '" + text + "' in element");
@@ -54,7 +109,7 @@ public class BasePage {
 
     protected String getText(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            getWait().until(ExpectedConditions.visibilityOf(element));
             String text = element.getText();
             LogUtil.info("Retrieved text: " + text);
             ExtentManager.logAction("Get text: " + text, getElementDescription(element));
@@ -85,7 +140,7 @@ public class BasePage {
 
     protected void waitForElementToBeVisible(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            getWait().until(ExpectedConditions.visibilityOf(element));
             ExtentManager.logAction("Wait for element visibility", getElementDescription(element));
         } catch (Exception e) {
             ExtentManager.logError("Element not visible within timeout", e);
@@ -95,7 +150,7 @@ public class BasePage {
 
     protected void waitForElementToBeClickable(WebElement element) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            getWait().until(ExpectedConditions.elementToBeClickable(element));
             ExtentManager.logAction("Wait for element clickable", getElementDescription(element));
         } catch (Exception e) {
             ExtentManager.logError("Element not clickable within timeout", e);
@@ -105,9 +160,16 @@ public class BasePage {
 
     protected void scrollToElement(WebElement element) {
         try {
-            ((org.openqa.selenium.JavascriptExecutor) driver)
-                .executeScript("arguments[0].scrollIntoView(true);", element);
-            Thread.sleep(500);
+            org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
+            Object[] lastTop = {js.executeScript("arguments[0].scrollIntoView(true); return arguments[0].getBoundingClientRect().top;", element)};
+            // Done once the element stops moving, which is immediately unless the page scrolls smoothly
+            Waiter.of("scroll").timeout(Duration.ofSeconds(1)).backoff(Duration.ofMillis(25), Duration.ofMillis(100))
+                .untilOrNull(() -> {
+                    Object top = js.executeScript("return arguments[0].getBoundingClientRect().top;", element);
+                    boolean stopped = top != null && top.equals(lastTop[0]);
+                    lastTop[0] = top;
+                    return stopped;
+                });
             ExtentManager.logAction("Scroll to element", getElementDescription(element));
         } catch (Exception e) {
             LogUtil.warn("Failed to scroll to element: " + e.getMessage());
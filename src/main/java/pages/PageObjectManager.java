@@ -1,6 +1,11 @@
 package pages;
 
 import drivers.DriverFactory;
+import utils.RunMetrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 
@@ -9,6 +14,20 @@ public class PageObjectManager {
     private static final ThreadLocal<Map<Class<? extends BasePage>, BasePage>> pageInstances =
         ThreadLocal.withInitial(ConcurrentHashMap::new);
 
+    // No-arg constructor handle per page class, resolved once instead of reflecting on every creation
+    private static final ClassValue<MethodHandle> constructors = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> pageClass) {
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(pageClass, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(BasePage.class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Page class needs a public no-arg constructor: " + pageClass.getName(), e);
+            }
+        }
+    };
+
     // Generic method to get or create any page instance (Thread-Safe)
     @SuppressWarnings("unchecked")
     public static <T extends BasePage> T getPage(Class<T> pageClass) {
@@ -19,14 +38,20 @@ public class PageObjectManager {
             T pageInstance = (T) threadPageInstances.get(pageClass);
 
             if (pageInstance == null) {
-                // Create new instance using reflection
-                pageInstance = pageClass.getDeclaredConstructor().newInstance();
+                // Lease or launch the browser first so page.create measures only the page construction
+                DriverFactory.getDriver();
+                long start = System.nanoTime();
+                pageInstance = (T) (BasePage) constructors.get(pageClass).invokeExact();
+                long elapsed = System.nanoTime() - start;
                 threadPageInstances.put(pageClass, pageInstance);
-                utils.LogUtil.info("Created new page instance for thread " + Thread.currentThread().getId() + ": " + pageClass.getSimpleName());
+                RunMetrics.increment("page.objects.created");
+                RunMetrics.addScenarioTime("page.create", elapsed);
+                utils.LogUtil.info("Created new page instance for thread " + Thread.currentThread().getId() + ": "
+                        + pageClass.getSimpleName() + " in " + (elapsed / 1_000_000) + " ms");
             }
 
             return pageInstance;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to initialize page: " + pageClass.getSimpleName() + " for thread: " + Thread.currentThread().getId(), e);
         }
     }
@@ -0,0 +1,159 @@
+package pages;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One product card of the search results page, as extracted by
+ * {@link AmazonSearchResultsPageDynamic#getSearchResultItems()}.
+ * Values the card does not show (e.g. no price for unavailable products) are null.
+ */
+public final class SearchResultItem {
+
+    private static final Pattern NUMBER = Pattern.compile("(\\d[\\d,]*(?:\\.\\d+)?)\\s*([KkMm])?");
+
+    private final int position;
+    private final String asin;
+    private final String title;
+    private final Long pricePaise;
+    private final Double rating;
+    private final Integer reviewCount;
+    private final boolean sponsored;
+    private final String link;
+
+    SearchResultItem(int position, String asin, String title, Long pricePaise, Double rating, Integer reviewCount,
+                     boolean sponsored, String link) {
+        this.position = position;
+        this.asin = asin;
+        this.title = title;
+        this.pricePaise = pricePaise;
+        this.rating = rating;
+        this.reviewCount = reviewCount;
+        this.sponsored = sponsored;
+        this.link = link;
+    }
+
+    /**
+     * Builds an item from the raw strings read by the extraction script
+     */
+    static SearchResultItem fromRaw(int position, Map<?, ?> raw) {
+        return new SearchResultItem(position,
+                text(raw.get("asin")),
+                text(raw.get("title")),
+                parsePaise(text(raw.get("price"))),
+                parseRating(text(raw.get("rating"))),
+                parseCount(text(raw.get("reviews"))),
+                Boolean.TRUE.equals(raw.get("sponsored")),
+                text(raw.get("link")));
+    }
+
+    /**
+     * Zero-based position on the page, in document order
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Price in paise (1 rupee = 100 paise), or null if the card shows no price
+     */
+    public Long getPricePaise() {
+        return pricePaise;
+    }
+
+    public boolean hasPrice() {
+        return pricePaise != null;
+    }
+
+    /**
+     * Star rating out of 5, or null if the product has no ratings yet
+     */
+    public Double getRating() {
+        return rating;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public boolean isSponsored() {
+        return sponsored;
+    }
+
+    public String getLink() {
+        return link;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResultItem{position=" + position + ", asin='" + asin + "', title='" + title + "', pricePaise=" + pricePaise
+                + ", rating=" + rating + ", reviewCount=" + reviewCount + ", sponsored=" + sponsored + "}";
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = String.valueOf(value).trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * Parses prices such as "₹1,299", "₹1,299.00" or "1,299." into paise
+     */
+    static Long parsePaise(String price) {
+        if (price == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(price);
+        if (!matcher.find()) {
+            return null;
+        }
+        String[] parts = matcher.group(1).replace(",", "").split("\\.");
+        long paise = Long.parseLong(parts[0]) * 100;
+        if (parts.length > 1 && !parts[1].isEmpty()) {
+            String fraction = (parts[1] + "0").substring(0, 2);
+            paise += Long.parseLong(fraction);
+        }
+        return paise;
+    }
+
+    /**
+     * Parses "4.1 out of 5 stars" into 4.1
+     */
+    static Double parseRating(String rating) {
+        if (rating == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(rating);
+        return matcher.find() ? Double.parseDouble(matcher.group(1).replace(",", "")) : null;
+    }
+
+    /**
+     * Parses review counts such as "1,234", "(1.2K)" or "2,345 ratings"
+     */
+    static Integer parseCount(String count) {
+        if (count == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(count);
+        if (!matcher.find()) {
+            return null;
+        }
+        double value = Double.parseDouble(matcher.group(1).replace(",", ""));
+        String suffix = matcher.group(2);
+        if (suffix != null) {
+            value *= suffix.equalsIgnoreCase("K") ? 1_000 : 1_000_000;
+        }
+        return (int) Math.round(value);
+    }
+}
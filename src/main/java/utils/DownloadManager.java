@@ -13,11 +13,14 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DownloadManager {
 
     private static final int DEFAULT_DOWNLOAD_TIMEOUT_SECONDS = 60;
+    private static final long FILE_STABLE_MILLIS = 500;
     private static final ThreadLocal<String> downloadDirectory = new ThreadLocal<>();
 
     /**
@@ -179,38 +182,14 @@ public class DownloadManager {
             ExtentManager.logAction("Wait for download", "Expected file: " + expectedFileName);
 
             File downloadDirectory = new File(downloadDir);
-            long startTime = System.currentTimeMillis();
-            long timeoutMillis = timeoutSeconds * 1000L;
-
-            while ((System.currentTimeMillis() - startTime) < timeoutMillis) {
-                File[] files = downloadDirectory.listFiles();
-
-                if (files != null) {
-                    for (File file : files) {
-                        if (file.isFile() && !file.getName().endsWith(".crdownload") && !file.getName().endsWith(".tmp")) {
-                            String fileName = file.getName();
-
-                            // Check if file name contains the expected name (case insensitive)
-                            if (fileName.toLowerCase().contains(expectedFileName.toLowerCase())) {
-                                LogUtil.info("Found matching file: " + fileName);
-
-                                // Verify file is completely downloaded (not still downloading)
-                                if (isFileDownloadComplete(file)) {
-                                    LogUtil.info("Download completed successfully: " + file.getAbsolutePath());
-                                    return file.getAbsolutePath();
-                                }
-                            }
-                        }
-                    }
-                }
-
-                // Wait 1 second before checking again
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+            Map<String, long[]> sizes = new HashMap<>();
+            Waiter waiter = Waiter.of("download")
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .backoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+            String downloadedFile = waiter.untilOrNull(
+                    () -> findCompletedDownload(downloadDirectory, expectedFileName, sizes, waiter.getClock()));
+            if (downloadedFile != null) {
+                return downloadedFile;
             }
 
             // Log available files for debugging
@@ -231,29 +210,53 @@ public class DownloadManager {
     }
 
     /**
-     * Checks if a file download is complete by verifying file stability
-     * @param file The file to check
-     * @return true if download is complete, false otherwise
+     * Returns the path of a finished file in the directory whose name contains the expected name, or null if none yet
      */
-    private static boolean isFileDownloadComplete(File file) {
-        try {
-            // Check file size stability (file size doesn't change for 2 seconds)
-            long initialSize = file.length();
-            Thread.sleep(2000);
-            long finalSize = file.length();
-
-            boolean isComplete = (initialSize == finalSize && finalSize > 0);
-            LogUtil.info("File size check - Initial: " + initialSize + ", Final: " + finalSize + ", Complete: " + isComplete);
+    private static String findCompletedDownload(File downloadDirectory, String expectedFileName, Map<String, long[]> sizes,
+                                                Waiter.Clock clock) {
+        File[] files = downloadDirectory.listFiles();
+        if (files == null) {
+            return null;
+        }
+        for (File file : files) {
+            if (file.isFile() && !file.getName().endsWith(".crdownload") && !file.getName().endsWith(".tmp")) {
+                String fileName = file.getName();
+
+                // Check if file name contains the expected name (case insensitive)
+                if (fileName.toLowerCase().contains(expectedFileName.toLowerCase())) {
+                    if (!sizes.containsKey(file.getAbsolutePath())) {
+                        LogUtil.info("Found matching file: " + fileName);
+                    }
 
-            return isComplete;
+                    // Verify file is completely downloaded (not still downloading)
+                    if (isFileDownloadComplete(file, sizes, clock)) {
+                        LogUtil.info("Download completed successfully: " + file.getAbsolutePath());
+                        return file.getAbsolutePath();
+                    }
+                }
+            }
+        }
+        return null;
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        } catch (Exception e) {
-            LogUtil.warn("Error checking file completion: " + e.getMessage());
+    /**
+     * Checks if a file download is complete by verifying file stability across polls
+     * @param file The file to check
+     * @param sizes Size and first-seen time of each file at earlier polls
+     * @param clock Time source of the waiter doing the polling
+     * @return true if the file size has not changed for FILE_STABLE_MILLIS, false otherwise
+     */
+    private static boolean isFileDownloadComplete(File file, Map<String, long[]> sizes, Waiter.Clock clock) {
+        long now = clock.nanoTime() / 1_000_000;
+        long size = file.length();
+        long[] previous = sizes.get(file.getAbsolutePath());
+        if (previous == null || previous[0] != size) {
+            sizes.put(file.getAbsolutePath(), new long[]{size, now});
             return false;
         }
+        boolean isComplete = size > 0 && now - previous[1] >= FILE_STABLE_MILLIS;
+        LogUtil.info("File size check - Size: " + size + ", stable for " + (now - previous[1]) + " ms, Complete: " + isComplete);
+        return isComplete;
     }
 
     /**
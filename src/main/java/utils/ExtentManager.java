@@ -107,6 +107,12 @@ public class ExtentManager {
         }
     }
 
+    public static void setSystemInfo(String key, String value) {
+        if (extent != null) {
+            extent.setSystemInfo(key, value);
+        }
+    }
+
     public static String getReportPath() {
         return "output/reports/ExtentReport.html";
     }
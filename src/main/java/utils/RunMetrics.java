@@ -0,0 +1,136 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe run-level counters for framework performance data (driver pool usage, waits, etc.).
+ * Values are published to the log and the Extent report system info at the end of the suite.
+ */
+public class RunMetrics {
+
+    private static final String NANOS_SUFFIX = ".ns";
+    private static final String MILLIS_SUFFIX = ".ms";
+
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, String> info = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Long>> scenarioTimes = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private RunMetrics() {}
+
+    /**
+     * Increments the named counter by one
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds the given amount to the named counter
+     */
+    public static void add(String name, long amount) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Returns the current value of the named counter, or 0 if it was never recorded.
+     * Run totals of scenario times are read as "&lt;category&gt;.ms".
+     */
+    public static long get(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter == null && name.endsWith(MILLIS_SUFFIX)) {
+            LongAdder nanos = counters.get(name.substring(0, name.length() - MILLIS_SUFFIX.length()) + NANOS_SUFFIX);
+            return nanos == null ? 0 : nanos.sum() / 1_000_000;
+        }
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Records a free-form value (e.g. a percentile summary) to be published with the counters
+     */
+    public static void setInfo(String name, String value) {
+        info.put(name, value);
+    }
+
+    /**
+     * Returns all counters and info values sorted by name
+     */
+    public static Map<String, String> snapshot() {
+        Map<String, String> values = new TreeMap<>(info);
+        counters.forEach((name, counter) -> {
+            if (name.endsWith(NANOS_SUFFIX)) {
+                values.put(name.substring(0, name.length() - NANOS_SUFFIX.length()) + MILLIS_SUFFIX,
+                        String.valueOf(counter.sum() / 1_000_000));
+            } else {
+                values.put(name, String.valueOf(counter.sum()));
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Logs all recorded values and adds them to the Extent report system info
+     */
+    public static void publish() {
+        Map<String, String> values = snapshot();
+        if (values.isEmpty()) {
+            return;
+        }
+        LogUtil.info("==================== FRAMEWORK RUN METRICS ====================");
+        values.forEach((name, value) -> {
+            LogUtil.info(name + " = " + value);
+            ExtentManager.setSystemInfo(name, value);
+        });
+        LogUtil.info("===============================================================");
+    }
+
+    /**
+     * Clears the current thread's per-scenario timings. Called when a scenario starts.
+     */
+    public static void startScenario() {
+        scenarioTimes.get().clear();
+    }
+
+    /**
+     * Adds elapsed time to a per-scenario category (e.g. "wait.visibility") and to the run total of the
+     * same name. The total is kept in nanoseconds so sub-millisecond operations add up, and is published
+     * as "&lt;category&gt;.ms".
+     */
+    public static void addScenarioTime(String category, long nanos) {
+        scenarioTimes.get().merge(category, nanos, Long::sum);
+        add(category + NANOS_SUFFIX, nanos);
+    }
+
+    /**
+     * Returns the current thread's per-scenario timings in milliseconds, in first-recorded order
+     */
+    public static Map<String, Long> getScenarioTimesMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        scenarioTimes.get().forEach((category, nanos) -> millis.put(category, nanos / 1_000_000));
+        return millis;
+    }
+
+    /**
+     * Returns the summed per-scenario time in milliseconds of all categories starting with the prefix
+     */
+    public static long getScenarioTotalMillis(String prefix) {
+        long nanos = 0;
+        for (Map.Entry<String, Long> entry : scenarioTimes.get().entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                nanos += entry.getValue();
+            }
+        }
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Clears all recorded values
+     */
+    public static void reset() {
+        counters.clear();
+        info.clear();
+    }
+}
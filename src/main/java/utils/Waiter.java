@@ -0,0 +1,252 @@
+package utils;
+
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The one place the framework sleeps. A Waiter polls a condition (or retries an action) with backoff that
+ * starts short and doubles up to a cap, so a condition that is already true costs no sleep and a slow one
+ * is not hammered. Every sleep goes through a {@link Clock} and is recorded per scenario under
+ * "sleep.&lt;name&gt;"; {@link #getScenarioSummary()} reports the total. Tests can swap in a
+ * {@link VirtualClock}, which advances instantly instead of sleeping.
+ */
+public class Waiter {
+
+    private static final String METRIC_PREFIX = "sleep.";
+    private static volatile Clock defaultClock = new SystemClock();
+
+    private final String name;
+    private Duration timeout = Duration.ofSeconds(10);
+    private Duration minInterval = Duration.ofMillis(50);
+    private Duration maxInterval = Duration.ofMillis(500);
+    private int maxAttempts = Integer.MAX_VALUE;
+    private final List<Class<? extends Throwable>> ignored = new ArrayList<>();
+    private Consumer<RuntimeException> onRetry = e -> {};
+    private Clock clock = defaultClock;
+
+    /**
+     * Time source and sleeper used by waiters
+     */
+    public interface Clock {
+        long nanoTime();
+
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    /**
+     * Real time, Thread.sleep
+     */
+    public static final class SystemClock implements Clock {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+    }
+
+    /**
+     * Clock for tests: sleeping advances the time immediately
+     */
+    public static final class VirtualClock implements Clock {
+        private volatile long nanos;
+
+        @Override
+        public long nanoTime() {
+            return nanos;
+        }
+
+        @Override
+        public void sleep(long millis) {
+            advance(Duration.ofMillis(millis));
+        }
+
+        public synchronized void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+
+    private Waiter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts a waiter. The name identifies the call site in the sleep metrics (e.g. "download", "stale.retry").
+     */
+    public static Waiter of(String name) {
+        return new Waiter(name);
+    }
+
+    /**
+     * Replaces the clock used by waiters created from now on, e.g. with a VirtualClock in tests
+     */
+    public static void setDefaultClock(Clock clock) {
+        defaultClock = clock;
+    }
+
+    /**
+     * Restores real time for waiters created from now on
+     */
+    public static void useSystemClock() {
+        defaultClock = new SystemClock();
+    }
+
+    public Waiter timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * First and largest pause between checks; each pause doubles the previous one
+     */
+    public Waiter backoff(Duration minInterval, Duration maxInterval) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    /**
+     * Caps the number of checks or attempts in addition to the timeout
+     */
+    public Waiter attempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Exceptions that count as "not yet" instead of failing the wait
+     */
+    @SafeVarargs
+    public final Waiter ignoring(Class<? extends Throwable>... exceptions) {
+        ignored.addAll(Arrays.asList(exceptions));
+        return this;
+    }
+
+    /**
+     * Called with the ignored exception before each retry
+     */
+    public Waiter onRetry(Consumer<RuntimeException> onRetry) {
+        this.onRetry = onRetry;
+        return this;
+    }
+
+    public Waiter clock(Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Waits until the condition returns something other than null or false and returns it.
+     * Throws TimeoutException if the timeout or attempt limit is reached first.
+     */
+    public <T> T until(Supplier<T> condition) {
+        T value = untilOrNull(condition);
+        if (value == null) {
+            throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #until} but returns null instead of throwing when the condition never holds
+     */
+    public <T> T untilOrNull(Supplier<T> condition) {
+        long deadline = clock.nanoTime() + timeout.toNanos();
+        long interval = minInterval.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T value = condition.get();
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                if (!isIgnored(e)) {
+                    throw e;
+                }
+                onRetry.accept(e);
+            }
+            long remainingMillis = (deadline - clock.nanoTime()) / 1_000_000;
+            if (attempt >= maxAttempts || remainingMillis <= 0) {
+                return null;
+            }
+            pause(Math.min(interval, remainingMillis));
+            interval = Math.min(interval * 2, maxInterval.toMillis());
+        }
+    }
+
+    /**
+     * Runs the action until it completes without an ignored exception and returns its result, which may be null.
+     * Rethrows the last ignored exception if the timeout or attempt limit is reached first.
+     */
+    public <T> T retry(Supplier<T> action) {
+        long deadline = clock.nanoTime() + timeout.toNanos();
+        long interval = minInterval.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                long remainingMillis = (deadline - clock.nanoTime()) / 1_000_000;
+                if (!isIgnored(e) || attempt >= maxAttempts || remainingMillis <= 0) {
+                    throw e;
+                }
+                onRetry.accept(e);
+                pause(Math.min(interval, remainingMillis));
+                interval = Math.min(interval * 2, maxInterval.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the time the current scenario spent sleeping, per call site
+     */
+    public static String getScenarioSummary() {
+        StringBuilder summary = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : RunMetrics.getScenarioTimesMillis().entrySet()) {
+            if (entry.getKey().startsWith(METRIC_PREFIX)) {
+                summary.append(summary.length() == 0 ? "" : ", ")
+                        .append(entry.getKey().substring(METRIC_PREFIX.length())).append('=').append(entry.getValue()).append(" ms");
+                total += entry.getValue();
+            }
+        }
+        return "Time spent sleeping: " + total + " ms" + (summary.length() == 0 ? "" : " (" + summary + ")");
+    }
+
+    private void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        long start = clock.nanoTime();
+        try {
+            clock.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + name, e);
+        } finally {
+            RunMetrics.addScenarioTime(METRIC_PREFIX + name, clock.nanoTime() - start);
+        }
+    }
+
+    private boolean isIgnored(Throwable e) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -13,5 +13,16 @@ public interface AmazonSearchResultsPageXPath {
     String PRICE_HIGH_TO_LOW_OPTION = "//a[contains(text(),'Price: High to Low') or contains(text(),'high to low')]";
     // Dynamic locator pattern for brand checkbox
     String BRAND_CHECKBOX_PATTERN = "//div[@id='brandsRefinements']//span[text()='%s']";
+    String PRODUCT_BY_INDEX_PATTERN = "[data-component-type='s-search-result']:nth-child(%d) h2 a";
+    String PRODUCT_BY_TITLE_PATTERN = "//h2//span[contains(text(),'%s')]/ancestor::h2/a";
+    String ACTIVE_FILTER_PATTERN = "//span[contains(@class,'s-filter-applied') and contains(text(),'%s')]";
+    String REMOVE_FILTER_PATTERN = "//span[contains(text(),'%s')]/following-sibling::*//i[contains(@class,'remove')]";
+    // CSS selectors inside one search result card, used for structured extraction
+    String RESULT_TITLE = "h2 span";
+    String RESULT_LINK = "h2 a, a.a-link-normal[href*='/dp/']";
+    String RESULT_PRICE = ".a-price:not(.a-text-price) .a-offscreen";
+    String RESULT_RATING = "[aria-label*='out of 5 stars'], i[class*='a-star'] .a-icon-alt";
+    String RESULT_REVIEW_COUNT = "a[href*='#customerReviews'] span, [aria-label$=' ratings']";
+    String RESULT_SPONSORED = ".puis-sponsored-label-text, .s-sponsored-label-text, [data-component-type='sp-sponsored-result']";
 
 }
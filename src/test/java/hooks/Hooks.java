@@ -5,6 +5,8 @@ import io.cucumber.java.Before;
 import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import drivers.DriverFactory;
+import drivers.RequestBlocker;
+import drivers.SessionStateCache;
 import utils.LogUtil;
 import utils.DirectoryCleanupUtil;
 import utils.ScreenshotUtil;
@@ -12,6 +14,10 @@ import utils.ExtentManager;
 import config.ConfigReader;
 import pages.PageObjectManager;
 import utils.DownloadManager;
+import utils.RunMetrics;
+import utils.Waiter;
+import common.SettleWait;
+import common.TimeoutPolicy;
 
 public class Hooks {
     
@@ -39,24 +45,20 @@ public class Hooks {
         try {
             LogUtil.startTest(scenario.getName());
             LogUtil.info("Setting up test environment");
+            RunMetrics.startScenario();
+            SettleWait.startScenario();
 
             // Create ExtentTest for this scenario
             ExtentManager.createTest(scenario.getName(), "Cucumber BDD Test Scenario");
             ExtentManager.info("Starting test: " + scenario.getName());
 
-            // Ensure browser is launched before each scenario
-            drivers.DriverFactory.getDriver();
-            LogUtil.info("Test setup completed successfully");
-            ExtentManager.pass("Test environment setup completed successfully");
-
-            // Navigate to the base URL
-            String baseUrl = ConfigReader.getProperty("url");
-            if (baseUrl != null && !baseUrl.isEmpty()) {
-                drivers.DriverFactory.getDriver().get(baseUrl);
-                LogUtil.info("Navigated to URL: " + baseUrl);
-            } else {
+            // The browser is provisioned and navigated to the start URL on first use (see @nobrowser / @startUrl=)
+            DriverFactory.prepareScenario(scenario.getSourceTagNames());
+            if (ConfigReader.getProperty("url") == null) {
                 LogUtil.warn("Base URL is not configured in config.properties");
             }
+            LogUtil.info("Test setup completed successfully");
+            ExtentManager.pass("Test environment setup completed successfully");
 
             // Initialize page objects through PageObjectManager
             LogUtil.info("Page objects initialized via PageObjectManager");
@@ -102,14 +104,45 @@ public class Hooks {
                     ExtentManager.skip("Test scenario was skipped");
                 }
                 
-                DriverFactory.quitDriver();
-                LogUtil.info("Driver closed successfully for thread: " + Thread.currentThread().getId());
-                ExtentManager.info("Browser closed successfully");
+                if (scenario.isFailed()) {
+                    SessionStateCache.clearPending();
+                } else {
+                    SessionStateCache.captureIfPending(DriverFactory.getDriver());
+                }
+
+                String blockingSummary = RequestBlocker.getScenarioSummary(DriverFactory.getDriver());
+                if (blockingSummary != null) {
+                    LogUtil.info(blockingSummary);
+                    ExtentManager.info(blockingSummary);
+                }
+
+                DriverFactory.releaseDriver();
+                LogUtil.info("Driver released successfully for thread: " + Thread.currentThread().getId());
+                ExtentManager.info("Browser released successfully");
             } else {
                 LogUtil.info("No active driver found, skipping driver cleanup");
                 ExtentManager.info("No active driver found, skipping driver cleanup");
             }
             
+            String waitSummary = TimeoutPolicy.getScenarioSummary();
+            LogUtil.info(waitSummary);
+            ExtentManager.info(waitSummary);
+            String sleepSummary = Waiter.getScenarioSummary();
+            LogUtil.info(sleepSummary);
+            ExtentManager.info(sleepSummary);
+            String settleSummary = SettleWait.getScenarioSummary();
+            if (settleSummary != null) {
+                LogUtil.info(settleSummary);
+                ExtentManager.info(settleSummary);
+            }
+            Long pageCreationMillis = RunMetrics.getScenarioTimesMillis().get("page.create");
+            if (pageCreationMillis != null) {
+                LogUtil.info("Page object creation: " + pageCreationMillis + " ms");
+            }
+
+            DriverFactory.clearScenario();
+            SessionStateCache.clearPending();
+
             // Clean up download directory for current thread
             DownloadManager.cleanupDownloadDirectory();
             LogUtil.info("Download directory cleaned for thread: " + Thread.currentThread().getId());
@@ -12,7 +12,10 @@ import utils.LogUtil;
 import utils.EmailUtil;
 import utils.TestStatisticsCollector;
 import utils.CucumberReportParser;
+import utils.RunMetrics;
 import drivers.DriverFactory;
+import drivers.DriverStartupProfiler;
+import common.LocatorProfiler;
 import config.ConfigReader;
 
 @CucumberOptions(
@@ -46,6 +49,10 @@ public class TestRunner extends AbstractTestNGCucumberTests implements ITestList
         int threadCount = ConfigReader.getThreadCount();
         System.setProperty("dataproviderthreadcount", String.valueOf(threadCount));
         LogUtil.info("Test execution configured with thread count: " + threadCount);
+        ConfigReader.startWatching();
+
+        // Launch browsers in the background while the rest of suite setup runs
+        DriverFactory.prewarmDrivers();
 
         // Initialize ExtentReports
         ExtentManager.createInstance();
@@ -61,6 +68,11 @@ public class TestRunner extends AbstractTestNGCucumberTests implements ITestList
         // Finalize test statistics collection
         TestStatisticsCollector.finalizeTestRun();
 
+        // Publish framework performance metrics (driver pool usage, startup phases etc.) to log and report
+        DriverStartupProfiler.publish();
+        LocatorProfiler.publish();
+        RunMetrics.publish();
+
         // Flush ExtentReports
         ExtentManager.flush();
         LogUtil.info("ExtentReports flushed successfully");
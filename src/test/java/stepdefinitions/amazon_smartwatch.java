@@ -12,16 +12,17 @@ import static org.testng.Assert.*;
 
 public class amazon_smartwatch {
     
-    // Page object instances - Updated to use Dynamic classes
-    private final AmazonHomePageDynamic homePage;
-    private final AmazonSearchResultsPageDynamic searchPage;
-    private final AmazonProductPageDynamic productPage;
+    // Page objects are created on first use per scenario thread (see PageObjectManager)
+    private AmazonHomePageDynamic homePage() {
+        return PageObjectManager.getAmazonHomePage();
+    }
+
+    private AmazonSearchResultsPageDynamic searchPage() {
+        return PageObjectManager.getAmazonSearchResultsPage();
+    }
 
-    // Constructor to initialize page objects
-    public amazon_smartwatch() {
-        this.homePage = PageObjectManager.getAmazonHomePage();
-        this.searchPage = PageObjectManager.getAmazonSearchResultsPage();
-        this.productPage = PageObjectManager.getAmazonProductPage();
+    private AmazonProductPageDynamic productPage() {
+        return PageObjectManager.getAmazonProductPage();
     }
 
     @Given("I launch Chrome browser and navigate to Amazon India")
@@ -42,7 +43,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Wait for Amazon homepage to load completely");
         ExtentManager.logStep("Wait for Amazon homepage to load completely");
 
-        homePage.waitForHomepageToLoad();
+        homePage().waitForHomepageToLoad();
         ExtentManager.logAction("Wait for page load", "Amazon Homepage");
     }
 
@@ -51,10 +52,10 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify Amazon page title contains: " + expectedTitleText);
         ExtentManager.logStepWithParams("Verify Amazon page title contains", expectedTitleText);
 
-        boolean result = homePage.doesPageTitleContain(expectedTitleText);
+        boolean result = homePage().doesPageTitleContain(expectedTitleText);
 
         ExtentManager.logVerification("Page title contains '" + expectedTitleText + "'", result);
-        assertTrue(result, "Expected title to contain '" + expectedTitleText + "' but actual title was: " + homePage.getPageTitle());
+        assertTrue(result, "Expected title to contain '" + expectedTitleText + "' but actual title was: " + homePage().getPageTitle());
         LogUtil.info("Page title verification successful");
     }
 
@@ -63,7 +64,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Enter search term in search box: " + searchTerm);
         ExtentManager.logStepWithParams("Enter search term in search box", searchTerm);
 
-        homePage.enterSearchTerm(searchTerm);
+        homePage().enterSearchTerm(searchTerm);
         ExtentManager.logAction("Enter text", "Search Box: " + searchTerm);
     }
 
@@ -73,7 +74,7 @@ public class amazon_smartwatch {
         ExtentManager.logStep("Click on the search button");
 
         // Fixed: Now properly handling the returned page object
-        AmazonSearchResultsPageDynamic searchResultsPage = homePage.clickSearchButton();
+        AmazonSearchResultsPageDynamic searchResultsPage = homePage().clickSearchButton();
         ExtentManager.logPageNavigation("Home Page", "Search Results Page");
         ExtentManager.logAction("Click", "Search Button");
     }
@@ -83,7 +84,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify search results are displayed");
         ExtentManager.logStep("Verify search results are displayed");
 
-        boolean result = searchPage.areSearchResultsDisplayed();
+        boolean result = searchPage().areSearchResultsDisplayed();
         ExtentManager.logVerification("Search results are displayed", result);
         assertTrue(result, "Search results should be displayed");
         LogUtil.info("Search results verification successful");
@@ -93,7 +94,7 @@ public class amazon_smartwatch {
     public void i_apply_brand_filter_for(String brandName) {
         LogUtil.info("STEP: Apply brand filter for: " + brandName);
         ExtentManager.logStepWithParams("Apply brand filter", brandName);
-        searchPage.applyBrandFilter(brandName);
+        searchPage().applyBrandFilter(brandName);
         ExtentManager.logAction("Apply filter", "Brand: " + brandName);
     }
 
@@ -102,7 +103,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Set price filter - Min: " + minPrice + ", Max: " + maxPrice);
         ExtentManager.logStepWithParams("Set price filter", "Min: " + minPrice, "Max: " + maxPrice);
 
-        searchPage.setPriceFilter(minPrice, maxPrice);
+        searchPage().setPriceFilter(minPrice, maxPrice);
         ExtentManager.logAction("Set price filter", minPrice + " - " + maxPrice);
     }
 
@@ -111,7 +112,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify all products are within price range: " + minPrice + " - " + maxPrice);
         ExtentManager.logStepWithParams("Verify products within price range", minPrice + " - " + maxPrice + " rupees");
 
-        boolean result = searchPage.verifyAllProductsWithinPriceRange(minPrice, maxPrice);
+        boolean result = searchPage().verifyAllProductsWithinPriceRange(minPrice, maxPrice);
         ExtentManager.logVerification("All products within price range " + minPrice + " - " + maxPrice, result);
         assertTrue(result, "All products should be within price range " + minPrice + " - " + maxPrice);
         LogUtil.info("Price range verification successful");
@@ -122,7 +123,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Sort search results by price high to low");
         ExtentManager.logStep("Sort search results by price from high to low");
 
-        searchPage.sortByPriceHighToLow();
+        searchPage().sortByPriceHighToLow();
         ExtentManager.logAction("Apply sorting", "Price: High to Low");
     }
 
@@ -131,7 +132,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Click on the product with highest price");
         ExtentManager.logStep("Click on the product with highest price");
 
-        AmazonProductPageDynamic productPageResult = searchPage.clickOnHighestPriceProduct();
+        AmazonProductPageDynamic productPageResult = searchPage().clickOnHighestPriceProduct();
         ExtentManager.logAction("Click", "Highest Price Product");
     }
 
@@ -140,7 +141,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify product details page opens in new window");
         ExtentManager.logStep("Verify product details page opens in new window");
 
-        boolean result = searchPage.isNewWindowOpened();
+        boolean result = searchPage().isNewWindowOpened();
         ExtentManager.logVerification("Product details page opens in new window", result);
         assertTrue(result, "Product details should open in new window");
         LogUtil.info("New window verification successful");
@@ -151,7 +152,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Switch to new product window");
         ExtentManager.logStep("Switch to new product window");
 
-        AmazonProductPageDynamic productPageResult = searchPage.switchToNewWindow();
+        AmazonProductPageDynamic productPageResult = searchPage().switchToNewWindow();
         ExtentManager.logPageNavigation("Search Results Page", "Product Details Page");
         ExtentManager.logAction("Switch to", "New Window");
     }
@@ -161,7 +162,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify product details are displayed");
         ExtentManager.logStep("Verify product details are displayed");
 
-        boolean result = productPage.areProductDetailsDisplayed();
+        boolean result = productPage().areProductDetailsDisplayed();
         ExtentManager.logVerification("Product details are displayed", result);
         assertTrue(result, "Product details should be displayed");
         LogUtil.info("Product details verification successful");
@@ -172,7 +173,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Add product to cart");
         ExtentManager.logStep("Add product to cart");
 
-        productPage.addProductToCart();
+        productPage().addProductToCart();
         ExtentManager.logAction("Click", "Add to Cart Button");
     }
 
@@ -182,7 +183,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify cart count is updated");
         ExtentManager.logStep("Verify cart count is updated");
 
-        boolean result = productPage.isCartCountUpdated();
+        boolean result = productPage().isCartCountUpdated();
         ExtentManager.logVerification("Cart count is updated", result);
         assertTrue(result, "Cart count should be updated");
         LogUtil.info("Cart count update verification successful");
@@ -193,7 +194,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify search results contain relevant smartwatch products");
         ExtentManager.logStep("Verify search results contain relevant smartwatch products");
 
-        boolean result = searchPage.areSearchResultsRelevant("smartwatch");
+        boolean result = searchPage().areSearchResultsRelevant("smartwatch");
         ExtentManager.logVerification("Search results contain relevant smartwatch products", result);
         assertTrue(result, "Search results should contain relevant smartwatch products");
         LogUtil.info("Search results relevance verification successful");
@@ -204,7 +205,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Close new window and return to main window");
         ExtentManager.logStep("Close new window and return to main window");
 
-        productPage.closeCurrentWindowAndSwitchToMain();
+        productPage().closeCurrentWindowAndSwitchToMain();
         ExtentManager.logPageNavigation("Product Details Page", "Search Results Page");
         ExtentManager.logAction("Close window", "Product details window closed");
     }
@@ -214,7 +215,7 @@ public class amazon_smartwatch {
         LogUtil.info("STEP: Verify back on search results page");
         ExtentManager.logStep("Verify back on search results page");
 
-        boolean result = searchPage.areSearchResultsDisplayed();
+        boolean result = searchPage().areSearchResultsDisplayed();
         ExtentManager.logVerification("Back on search results page", result);
         assertTrue(result, "Should be back on search results page");
         LogUtil.info("Successfully returned to search results page");
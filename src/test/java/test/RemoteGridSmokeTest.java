@@ -0,0 +1,76 @@
+package test;
+
+import drivers.DriverFactory;
+import drivers.SharedHttpClientFactory;
+import org.openqa.selenium.WebDriver;
+import utils.LogUtil;
+import utils.RunMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Smoke check for remote sessions against a locally started standalone Selenium server.
+ * Opens more sessions in parallel than the server has slots, so they have to queue in
+ * GridSlotScheduler, and verifies that all of them share one HTTP client.
+ *
+ * Start a server with a single slot:
+ *   java -jar selenium-server-&lt;version&gt;.jar standalone --max-sessions 1
+ * then run this class with the shipped grid.url (http://localhost:4444/wd/hub):
+ *   [-Dremote.browser=chrome] [sessions, default 3]
+ */
+public class RemoteGridSmokeTest {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("browser", System.getProperty("browser", "remote"));
+        System.setProperty("driver.pool.enabled", "false");
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        System.out.println("=== Starting Remote Grid Smoke Test with " + sessions + " parallel sessions ===");
+
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 1; i <= sessions; i++) {
+            int sessionNumber = i;
+            results.add(executor.submit(() -> {
+                try {
+                    WebDriver driver = DriverFactory.getDriver();
+                    driver.get("data:text/html,<title>remote-smoke-" + sessionNumber + "</title>");
+                    return driver.getTitle();
+                } finally {
+                    DriverFactory.quitDriver();
+                }
+            }));
+        }
+
+        int failures = 0;
+        for (int i = 0; i < results.size(); i++) {
+            String expected = "remote-smoke-" + (i + 1);
+            try {
+                String title = results.get(i).get();
+                if (!expected.equals(title)) {
+                    failures++;
+                    System.out.println("Session " + (i + 1) + " FAILED: expected title " + expected + " but was " + title);
+                }
+            } catch (Exception e) {
+                failures++;
+                System.out.println("Session " + (i + 1) + " FAILED: " + e.getMessage());
+            }
+        }
+        executor.shutdown();
+        SharedHttpClientFactory.getInstance().shutdown();
+
+        long clients = RunMetrics.get("remote.http.clients");
+        System.out.println("Shared HTTP clients created: " + clients + " (expected 1)");
+        System.out.println("Grid slot wait: " + RunMetrics.get("remote.slot.wait.ms") + " ms, session retries: "
+                + RunMetrics.get("remote.session.retries"));
+        if (clients != 1) {
+            failures++;
+        }
+        LogUtil.info("Remote grid smoke test finished with " + failures + " failures");
+        System.out.println("=== Remote Grid Smoke Test " + (failures == 0 ? "PASSED" : "FAILED") + " ===");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}